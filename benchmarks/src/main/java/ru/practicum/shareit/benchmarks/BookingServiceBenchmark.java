@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingServiceBenchmark {
+
+    @Benchmark
+    public List<BookingDto> findAllBookingByOwnerFirstPage(ShareItState state) {
+        return state.bookingService.findAllBookingByOwner(ShareItState.OWNER_ID, "ALL", 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findAllBookingByOwnerLastPage(ShareItState state) {
+        return state.bookingService.findAllBookingByOwner(ShareItState.OWNER_ID, "ALL", state.deepOffset,
+                ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findAllBookingByOwnerLastPageByCursor(ShareItState state) {
+        return state.bookingService.findAllBookingByOwnerAfter(ShareItState.OWNER_ID, "ALL", state.deepCursor,
+                ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findAllBookingByOwnerPast(ShareItState state) {
+        return state.bookingService.findAllBookingByOwner(ShareItState.OWNER_ID, "PAST", 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findAllBookingByUserFirstPage(ShareItState state) {
+        return state.bookingService.findAllBookingByUser(ShareItState.BOOKER_ID, "ALL", 0, ShareItState.PAGE_SIZE);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InsertBenchmark {
+
+    @Benchmark
+    public List<Item> insertItems(InsertState state) {
+        List<Item> items = new ArrayList<>(state.rows);
+        for (int i = 0; i < state.rows; i++) {
+            items.add(new Item(null, "Дрель " + i, "Аккумуляторная дрель", true, state.ownerId, null));
+        }
+        return state.transactionTemplate.execute(status -> state.itemRepository.saveAll(items));
+    }
+
+    @Benchmark
+    public List<Booking> insertBookings(InsertState state) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(state.rows);
+        for (int i = 0; i < state.rows; i++) {
+            bookings.add(new Booking(null, start.plusHours(i), start.plusHours(i).plusMinutes(30), Status.WAITING,
+                    state.bookerId, state.itemId));
+        }
+        return state.transactionTemplate.execute(status -> state.bookingRepository.saveAll(bookings));
+    }
+
+    @Benchmark
+    public List<Comment> insertComments(InsertState state) {
+        LocalDateTime created = LocalDateTime.now();
+        List<Comment> comments = new ArrayList<>(state.rows);
+        for (int i = 0; i < state.rows; i++) {
+            comments.add(new Comment(null, "Отличная вещь", state.itemId, state.bookerId, created));
+        }
+        return state.transactionTemplate.execute(status -> state.commentRepository.saveAll(comments));
+    }
+}
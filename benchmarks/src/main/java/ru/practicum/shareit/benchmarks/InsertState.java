@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@State(Scope.Benchmark)
+public class InsertState {
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"test"})
+    public String profile;
+
+    @Param({"50", "0"})
+    public int batchSize;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    ItemRepository itemRepository;
+    BookingRepository bookingRepository;
+    CommentRepository commentRepository;
+    long ownerId;
+    long bookerId;
+    long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run("--shareit.booking-summary.refresh-delay=3600000", "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ownerId = userRepository.save(new User(null, "owner", "owner@user.com")).getId();
+        bookerId = userRepository.save(new User(null, "booker", "booker@user.com")).getId();
+        itemId = itemRepository.save(new Item(null, "Дрель", "Аккумуляторная дрель", true, ownerId, null)).getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items where id <> ?", itemId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
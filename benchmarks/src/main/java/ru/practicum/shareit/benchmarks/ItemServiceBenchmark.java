@@ -0,0 +1,45 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public List<ItemDto> findAllItem(ShareItState state) {
+        return state.itemService.findAllItem(ShareItState.OWNER_ID, 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemDto findItemById(ShareItState state) {
+        return state.itemService.findItemById(ShareItState.OWNER_ID, ShareItState.OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemByWord(SearchState state) {
+        return state.itemService.searchItem(ShareItState.BOOKER_ID, "дрель", 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemByPrefix(SearchState state) {
+        return state.itemService.searchItem(ShareItState.BOOKER_ID, "аккум", 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemBySingleCharacterPrefix(SearchState state) {
+        return state.itemService.searchItem(ShareItState.BOOKER_ID, "1", 0, ShareItState.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemWithoutMatches(SearchState state) {
+        return state.itemService.searchItem(ShareItState.BOOKER_ID, "перфоратор", 0, ShareItState.PAGE_SIZE);
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTest {
+    private static final int MAX_SAMPLES = 10_000_000;
+
+    private final HttpRequest request;
+    private final HttpClient httpClient;
+    private final long deadline;
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private LoadTest(URI uri, long userId, Duration duration) {
+        this.request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.deadline = System.nanoTime() + duration.toNanos();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTest <url> [clients=2000] [seconds=60] [warmupSeconds=10] [userId=1]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long userId = args.length > 4 ? Long.parseLong(args[4]) : 1L;
+
+        new LoadTest(uri, userId, Duration.ofSeconds(warmupSeconds)).run(clients);
+        LoadTest loadTest = new LoadTest(uri, userId, Duration.ofSeconds(seconds));
+        long start = System.nanoTime();
+        loadTest.run(clients);
+        loadTest.report(clients, System.nanoTime() - start);
+    }
+
+    private void run(int clients) {
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop();
+        }
+        CompletableFuture.allOf(loops).join();
+    }
+
+    private CompletableFuture<Void> loop() {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, e) -> {
+                    if (e != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    } else {
+                        long sample = samples.getAndIncrement();
+                        if (sample < MAX_SAMPLES) {
+                            latencies[(int) sample] = System.nanoTime() - start;
+                        }
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop());
+    }
+
+    private void report(int clients, long elapsedNanos) {
+        int count = (int) Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("clients=%d requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                clients, samples.get(), errors.get(), samples.get() * 1e9 / elapsedNanos,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"20", "1000"})
+    public int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private Map<Long, UserDto> users;
+    private Map<Long, ItemDto> itemDtos;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.now();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        users = new HashMap<>();
+        itemDtos = new HashMap<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "Дрель " + i, "Простая дрель", true, 1L, null);
+            items.add(item);
+            itemDtos.put(i, ItemMapper.toItemDto(item));
+            users.put(i, new UserDto(i, "user" + i, "user" + i + "@user.com"));
+            bookings.add(new Booking(i, start.plusHours(i), start.plusHours(i + 1), Status.APPROVED, i, i));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDtos() {
+        return BookingMapper.toBookingDtos(bookings, users, itemDtos);
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDtos() {
+        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class SearchState extends ShareItState {
+    @Param({"like", "index", "trigram"})
+    public String engine;
+
+    @Param({"100000", "1000000"})
+    public int items;
+
+    @Override
+    protected String searchEngine() {
+        return engine;
+    }
+
+    @Override
+    protected int items() {
+        return items;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    static final int OWNERS = 100;
+    static final int BOOKERS = 900;
+    static final int PAGE_SIZE = 20;
+    static final long OWNER_ID = 1L;
+    static final long BOOKER_ID = OWNERS + 1L;
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] WORDS = {"Дрель", "Отвертка", "Пила", "Молоток", "Drill", "Hammer", "Saw", "Ladder"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int bookings;
+
+    @Param({"test"})
+    public String profile;
+
+    ConfigurableApplicationContext context;
+    BookingService bookingService;
+    ItemService itemService;
+    int deepOffset;
+    Cursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run("--shareit.search.engine=" + searchEngine(),
+                        "--shareit.booking-summary.refresh-delay=3600000",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        refreshOwnerSummaries(context.getBean(ItemBookingSummaryService.class));
+        context.getBeansOfType(InvertedIndexItemSearchEngine.class).values()
+                .forEach(InvertedIndexItemSearchEngine::rebuild);
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+
+        deepOffset = Math.max(0, bookings / OWNERS - PAGE_SIZE);
+        List<BookingDto> beforeDeepPage = deepOffset == 0 ? List.of()
+                : bookingService.findAllBookingByOwner(OWNER_ID, "ALL", deepOffset - 1, 1);
+        deepCursor = beforeDeepPage.isEmpty() ? new Cursor(LocalDateTime.now().plusYears(100), Long.MAX_VALUE)
+                : new Cursor(beforeDeepPage.get(0).getStart(), beforeDeepPage.get(0).getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    protected String searchEngine() {
+        return "like";
+    }
+
+    protected int items() {
+        return Math.max(OWNERS, bookings / 10);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int items = items();
+        LocalDateTime base = LocalDateTime.now().minusHours(bookings / 2);
+
+        batchInsert(jdbcTemplate, "insert into users (id, name, email) values (?, ?, ?)", OWNERS + BOOKERS,
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, "user" + (i + 1));
+                    ps.setString(3, "user" + (i + 1) + "@user.com");
+                });
+        batchInsert(jdbcTemplate,
+                "insert into items (id, name, description, is_available, owner_id) values (?, ?, ?, ?, ?)", items,
+                (ps, i) -> {
+                    String word = WORDS[i % WORDS.length];
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, word + " " + (i + 1));
+                    ps.setString(3, "Аккумуляторная " + word.toLowerCase() + " для дома");
+                    ps.setBoolean(4, i % 10 != 0);
+                    ps.setLong(5, i % OWNERS + 1);
+                });
+        batchInsert(jdbcTemplate,
+                "insert into bookings (id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?, ?)",
+                bookings, (ps, i) -> {
+                    LocalDateTime start = base.plusHours(i);
+                    ps.setLong(1, i + 1);
+                    ps.setTimestamp(2, Timestamp.valueOf(start));
+                    ps.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(30)));
+                    ps.setLong(4, i % items + 1);
+                    ps.setLong(5, OWNERS + i % BOOKERS + 1);
+                    ps.setString(6, (i % 5 == 0 ? Status.WAITING : Status.APPROVED).name());
+                });
+        batchInsert(jdbcTemplate,
+                "insert into comments (id, text, item_id, author_id, created_date) values (?, ?, ?, ?, ?)", items / 2,
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, "Отличная вещь");
+                    ps.setLong(3, i * 2L + 1);
+                    ps.setLong(4, OWNERS + i % BOOKERS + 1);
+                    ps.setTimestamp(5, Timestamp.valueOf(base));
+                });
+        jdbcTemplate.update("insert into item_booking_summaries (item_id, refresh_at)"
+                + " select distinct item_id, ? from bookings where status = ?",
+                Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)), Status.APPROVED.name());
+        restartSequence(jdbcTemplate, "users_seq", OWNERS + BOOKERS);
+        restartSequence(jdbcTemplate, "items_seq", items);
+        restartSequence(jdbcTemplate, "bookings_seq", bookings);
+        restartSequence(jdbcTemplate, "comments_seq", items / 2);
+    }
+
+    private void refreshOwnerSummaries(ItemBookingSummaryService itemBookingSummaryService) {
+        int items = items();
+        for (long itemId = OWNER_ID; itemId <= items; itemId += OWNERS) {
+            itemBookingSummaryService.refresh(itemId);
+        }
+    }
+
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, long maxId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 50));
+    }
+
+    private static void batchInsert(JdbcTemplate jdbcTemplate, String sql, int count, RowSetter rowSetter) {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int offset = from;
+            int size = Math.min(BATCH_SIZE, count - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    rowSetter.setValues(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int i) throws SQLException;
+    }
+}
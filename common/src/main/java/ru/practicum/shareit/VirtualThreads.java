@@ -0,0 +1,21 @@
+package ru.practicum.shareit;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class VirtualThreads {
+    public static final String ENABLED_PROPERTY = "shareit.threads.virtual.enabled";
+
+    private VirtualThreads() {
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Для " + ENABLED_PROPERTY + " нужна Java 21 или новее", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,62 +1,92 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ShareItServerExchange;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ShareItServerExchange exchange, RequestCoalescer requestCoalescer,
+                         ResponseCache responseCache, ObjectMapper objectMapper) {
+        super(exchange, requestCoalescer, responseCache, API_PREFIX);
+        this.objectMapper = objectMapper;
     }
 
-    public ResponseEntity<Object> getBookings(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getBookings(long userId, String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
 
-    public ResponseEntity<Object> bookItem(long userId, BookingDto requestDto) {
-        return post("", userId, requestDto);
+    public CompletableFuture<ResponseEntity<Object>> bookItem(long userId, BookingDto requestDto) {
+        return post("", userId, requestDto).whenComplete((response, e) -> invalidate("/items/" + requestDto.getItemId()));
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> patchBooking(Long userId, Long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> patchBooking(Long userId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null)
+                .whenComplete((response, e) -> invalidateBookedItem(response));
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(long userId, String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, cursor), userId, parameters);
+    }
+
+    private void invalidateBookedItem(@Nullable ResponseEntity<Object> response) {
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || !response.hasBody()) {
+            return;
+        }
+        JsonNode itemId = readBooking(response.getBody()).path("item").path("id");
+        if (itemId.canConvertToLong()) {
+            invalidate("/items/" + itemId.asLong());
+        } else {
+            invalidateAll("/items/");
+        }
+    }
+
+    private JsonNode readBooking(Object body) {
+        try {
+            return body instanceof byte[] ? objectMapper.readTree((byte[]) body) : objectMapper.valueToTree(body);
+        } catch (IOException | IllegalArgumentException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+    public void exportBookingsByOwner(long userId, ServerHttpResponse response) throws IOException {
+        getToResponse("/owner/export", userId, response);
     }
 }
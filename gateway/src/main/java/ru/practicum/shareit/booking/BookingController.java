@@ -4,14 +4,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,41 +26,50 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> patchBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> patchBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 										@PathVariable long bookingId, @RequestParam boolean approved) {
 		log.info("Patch booking {}, userId={}, approved={}", bookingId, userId, approved);
 		return bookingClient.patchBooking(userId, bookingId, approved);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 											 @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, stateParam, from, size);
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor) {
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, stateParam, from, size, cursor);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookingDto bookingDto) {
 		log.info("Creating booking {}, userId={}", bookingDto, userId);
 		return bookingClient.bookItem(userId, bookingDto);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
 											  @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookingsByOwner(userId, stateParam, from, size);
+											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											  @RequestParam(name = "cursor", required = false) String cursor) {
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookingsByOwner(userId, stateParam, from, size, cursor);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+									  HttpServletResponse response) throws IOException {
+		log.info("Export bookings by owner, userId={}", userId);
+		bookingClient.exportBookingsByOwner(userId, new ServletServerHttpResponse(response));
 	}
 }
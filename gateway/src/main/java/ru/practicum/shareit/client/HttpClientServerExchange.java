@@ -0,0 +1,159 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import ru.practicum.shareit.VirtualThreads;
+
+import javax.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "async")
+public class HttpClientServerExchange implements ShareItServerExchange {
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ShareItServerProperties properties;
+    private final HttpClientProperties httpClientProperties;
+    private final ObjectMapper objectMapper;
+
+    public HttpClientServerExchange(@Value("${shareit-server.url}") String serverUrl,
+                                    ShareItServerProperties properties, HttpClientProperties httpClientProperties,
+                                    ObjectMapper objectMapper,
+                                    @Value("${" + VirtualThreads.ENABLED_PROPERTY + ":false}") boolean virtualThreads) {
+        this.executor = virtualThreads ? VirtualThreads.newPerTaskExecutor()
+                : Executors.newFixedThreadPool(httpClientProperties.getAsyncThreads());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(httpClientProperties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(serverUrl);
+        this.properties = properties;
+        this.httpClientProperties = httpClientProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        URI uri = uriBuilderFactory.expand(path, parameters != null ? parameters : Collections.emptyMap());
+        HttpRequest.Builder request = newRequest(uri, userId)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method.name(), bodyPublisher(body));
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::prepareGatewayResponse);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path,
+                                                                    @Nullable Long userId, MediaType contentType,
+                                                                    InputStream body) {
+        HttpRequest.Builder request = newRequest(uriBuilderFactory.expand(path), userId)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+                .method(method.name(), HttpRequest.BodyPublishers.ofInputStream(() -> body));
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::prepareGatewayResponse);
+    }
+
+    @Override
+    public void exchangeToResponse(HttpMethod method, String path, @Nullable Long userId,
+                                   ServerHttpResponse response) throws IOException {
+        HttpRequest.Builder request = newRequest(uriBuilderFactory.expand(path), userId)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE)
+                .method(method.name(), HttpRequest.BodyPublishers.noBody());
+        HttpResponse<InputStream> serverResponse;
+        try {
+            serverResponse = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        serverResponse.headers().map().forEach(headers::addAll);
+        response.setStatusCode(HttpStatus.valueOf(serverResponse.statusCode()));
+        response.getHeaders().addAll(BaseClient.endToEndHeaders(headers));
+        try (InputStream body = serverResponse.body()) {
+            StreamUtils.copy(body, response.getBody());
+        }
+        response.flush();
+    }
+
+    private HttpRequest.Builder newRequest(URI uri, @Nullable Long userId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(httpClientProperties.getReadTimeout());
+        if (userId != null) {
+            request.header(BaseClient.USER_ID_HEADER, String.valueOf(userId));
+        }
+        return request;
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private ResponseEntity<Object> prepareGatewayResponse(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 300) {
+            return ResponseEntity.status(response.statusCode()).body(response.body());
+        }
+        byte[] body = response.body().length == 0 ? null : response.body();
+
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return ResponseEntity.status(response.statusCode())
+                .headers(BaseClient.endToEndHeaders(headers))
+                .body(properties.isPassthrough() ? body : readBody(body));
+    }
+
+    private Object readBody(@Nullable byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private static final String REQUESTS_METRIC = "shareit.gateway.get.requests";
+
+    private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final ShareItServerProperties properties;
+    private final Counter upstreamRequests;
+    private final Counter coalescedRequests;
+
+    public RequestCoalescer(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.upstreamRequests = requestCounter(meterRegistry, "upstream");
+        this.coalescedRequests = requestCounter(meterRegistry, "coalesced");
+        meterRegistry.gaugeMapSize("shareit.gateway.get.in-flight", Tags.empty(), inFlight);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String key, String resource,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!properties.isCoalesceGets()) {
+            return request.get();
+        }
+        InFlightRequest inFlightRequest = new InFlightRequest(resource);
+        InFlightRequest existing = inFlight.putIfAbsent(key, inFlightRequest);
+        if (existing != null) {
+            coalescedRequests.increment();
+            return existing.response;
+        }
+        upstreamRequests.increment();
+        CompletableFuture<ResponseEntity<Object>> response = inFlightRequest.response;
+        try {
+            request.get().whenComplete((result, e) -> {
+                inFlight.remove(key, inFlightRequest);
+                if (e != null) {
+                    response.completeExceptionally(e);
+                } else {
+                    response.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, inFlightRequest);
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    /**
+     * Stops new GETs of the resource from joining requests that were sent before a write to it completed:
+     * callers already waiting still get the old response, later ones go to the server.
+     */
+    public void detach(String resource) {
+        detachResources(resource::equals);
+    }
+
+    public void detachAll(String resourcePrefix) {
+        detachResources(resource -> resource.startsWith(resourcePrefix));
+    }
+
+    private void detachResources(Predicate<String> matches) {
+        inFlight.values().removeIf(request -> matches.test(request.resource));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("GET requests forwarded to the server (upstream) or joined to an identical one (coalesced)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class InFlightRequest {
+        private final String resource;
+        private final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+
+        private InFlightRequest(String resource) {
+            this.resource = resource;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    private static final String REQUESTS_METRIC = "shareit.gateway.cache.requests";
+
+    private final boolean enabled;
+    private final Cache<String, ResponseEntity<Object>> responses;
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCache(ShareItServerProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.getCache().isEnabled();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .build();
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        meterRegistry.gauge("shareit.gateway.cache.responses", responses, Cache::estimatedSize);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(String resource, @Nullable Long userId,
+                                                         Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        String key = resource + " " + userId;
+        ResponseEntity<Object> cached = responses.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.increment();
+        long[] started = new long[1];
+        generations.compute(resource, (name, generation) -> {
+            Generation current = generation == null ? new Generation() : generation;
+            current.inFlight++;
+            started[0] = current.version;
+            return current;
+        });
+        return request.get().whenComplete((response, e) -> generations.compute(resource, (name, generation) -> {
+            if (response != null && response.getStatusCode().is2xxSuccessful()
+                    && generation.version == started[0]) {
+                responses.put(key, response);
+            }
+            return --generation.inFlight == 0 ? null : generation;
+        }));
+    }
+
+    public void invalidate(String resource) {
+        invalidateResources(resource::equals);
+    }
+
+    public void invalidateAll(String resourcePrefix) {
+        invalidateResources(resource -> resource.startsWith(resourcePrefix));
+    }
+
+    private void invalidateResources(Predicate<String> matches) {
+        if (!enabled) {
+            return;
+        }
+        generations.keySet().stream().filter(matches)
+                .forEach(resource -> generations.computeIfPresent(resource, (name, generation) -> {
+                    generation.version++;
+                    return generation;
+                }));
+        responses.asMap().keySet().removeIf(key -> matches.test(key.substring(0, key.lastIndexOf(' '))));
+    }
+
+    private static class Generation {
+        private long version;
+        private int inFlight;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Cacheable GET requests answered from the gateway cache (hit) or by the server (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateServerExchange implements ShareItServerExchange {
+    private final RestTemplate rest;
+    private final RestTemplate streamingRest;
+    private final ShareItServerProperties properties;
+
+    public RestTemplateServerExchange(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                                      ClientHttpRequestFactory requestFactory,
+                                      @Qualifier("shareItServerStreamingRequestFactory")
+                                      ClientHttpRequestFactory streamingRequestFactory,
+                                      ShareItServerProperties properties) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+        this.streamingRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
+        this.properties = properties;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        return CompletableFuture.completedFuture(makeAndSendRequest(method, path, userId, parameters, body));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path,
+                                                                    @Nullable Long userId, MediaType contentType,
+                                                                    InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        try {
+            return CompletableFuture.completedFuture(preparePassthroughResponse(streamingRest.execute(path, method,
+                    request -> {
+                        request.getHeaders().addAll(headers);
+                        StreamUtils.copy(body, request.getBody());
+                    },
+                    streamingRest.responseEntityExtractor(byte[].class))));
+        } catch (HttpStatusCodeException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray()));
+        }
+    }
+
+    @Override
+    public void exchangeToResponse(HttpMethod method, String path, @Nullable Long userId,
+                                   ServerHttpResponse response) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        try {
+            streamingRest.execute(path, method, request -> request.getHeaders().addAll(headers), serverResponse -> {
+                response.setStatusCode(serverResponse.getStatusCode());
+                response.getHeaders().addAll(BaseClient.endToEndHeaders(serverResponse.getHeaders()));
+                StreamUtils.copy(serverResponse.getBody(), response.getBody());
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            response.setStatusCode(e.getStatusCode());
+            if (e.getResponseHeaders() != null) {
+                response.getHeaders().addAll(BaseClient.endToEndHeaders(e.getResponseHeaders()));
+            }
+            response.getBody().write(e.getResponseBodyAsByteArray());
+        }
+        response.flush();
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+
+        try {
+            if (properties.isPassthrough()) {
+                return preparePassthroughResponse(exchange(method, path, requestEntity, byte[].class, parameters));
+            }
+            return prepareGatewayResponse(exchange(method, path, requestEntity, Object.class, parameters));
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private <T, R> ResponseEntity<R> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity, Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(BaseClient.USER_ID_HEADER, String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+
+    private static ResponseEntity<Object> preparePassthroughResponse(ResponseEntity<byte[]> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return prepareGatewayResponse(ResponseEntity.status(response.getStatusCode()).body(response.getBody()));
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(BaseClient.endToEndHeaders(response.getHeaders()))
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface ShareItServerExchange {
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+
+    CompletableFuture<ResponseEntity<Object>> exchangeStream(HttpMethod method, String path, @Nullable Long userId,
+                                                             MediaType contentType, InputStream body);
+
+    void exchangeToResponse(HttpMethod method, String path, @Nullable Long userId,
+                            ServerHttpResponse response) throws IOException;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+    private boolean passthrough = false;
+    private boolean coalesceGets = false;
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+}
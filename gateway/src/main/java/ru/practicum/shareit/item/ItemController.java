@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -9,9 +10,12 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -23,30 +27,39 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItems(
+    public CompletableFuture<ResponseEntity<Object>> getItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get items with userId={}, from={}, size={}", userId, from, size);
-        return itemClient.getItems(userId, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get items with userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemClient.getItems(userId, from, size, cursor);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItemById(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> findItemById(@RequestHeader("X-Sharer-User-Id") long userId,
                                                @PathVariable long itemId) {
         log.info("Get item {}, userId={}", itemId, userId);
         return itemClient.getItem(userId, itemId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @RequestBody @Valid ItemDto itemDto) {
         log.info("Creating item {}, userId={}", itemDto, userId);
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<Object>> createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                 HttpServletRequest request) throws IOException {
+        log.info("Bulk creating items, userId={}, contentType={}", userId, request.getContentType());
+        return itemClient.createItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> patchItem(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> patchItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                             @PathVariable long itemId,
                                             @RequestBody ItemDto itemDto) {
         log.info("Patch item {}, userId={}, itemId={}", itemDto, userId, itemId);
@@ -54,17 +67,18 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(
+    public CompletableFuture<ResponseEntity<Object>> searchItem(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String text,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Search items with userId={}, text={}, from={}, size={}", userId, text, from, size);
-        return itemClient.searchItem(userId, text, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Search items with userId={}, text={}, from={}, size={}, cursor={}", userId, text, from, size, cursor);
+        return itemClient.searchItem(userId, text, from, size, cursor);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @PathVariable long itemId, @RequestBody @Valid CommentDto commentDto) {
         log.info("Creating comment {}, userId={}, itemId={}", commentDto, userId, itemId);
         return itemClient.createComment(userId, itemId, commentDto);
@@ -11,6 +11,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -21,32 +22,34 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                                     @RequestBody @Valid ItemRequestDto itemRequestDto) {
         log.info("Creating itemRequest {}, userId={}", itemRequestDto, userId);
         return itemRequestClient.createItemRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllItemRequestByOwner(
+    public CompletableFuture<ResponseEntity<Object>> findAllItemRequestByOwner(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get owner itemRequest with userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.findAllItemRequestByOwner(userId, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get owner itemRequest with userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemRequestClient.findAllItemRequestByOwner(userId, from, size, cursor);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllItemRequest(
+    public CompletableFuture<ResponseEntity<Object>> findAllItemRequest(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get all itemRequest with userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.findAllItemRequest(userId, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get all itemRequest with userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemRequestClient.findAllItemRequest(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CompletableFuture<ResponseEntity<Object>> findItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
                                                       @PathVariable Long requestId) {
         log.info("Get itemRequest {}, userId={}", requestId, userId);
         return itemRequestClient.findItemRequestById(userId, requestId);
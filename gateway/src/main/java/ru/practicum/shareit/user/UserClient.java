@@ -1,52 +1,54 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ShareItServerExchange;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ShareItServerExchange exchange, RequestCoalescer requestCoalescer,
+                      ResponseCache responseCache) {
+        super(exchange, requestCoalescer, responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getUsers(Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getUsers(Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", null, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, cursor), null, parameters);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> getUser(Long userId) {
+        return getCached("/" + userId, null);
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> patchUser(Long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public CompletableFuture<ResponseEntity<Object>> patchUser(Long userId, UserDto userDto) {
+        return patch("/" + userId, userDto).whenComplete((response, e) -> invalidateUserViews());
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId).whenComplete((response, e) -> invalidateUserViews());
+    }
+
+    private void invalidateUserViews() {
+        invalidateAll("/items/");
+        invalidateAll("/requests/");
     }
 }
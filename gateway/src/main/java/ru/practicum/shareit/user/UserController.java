@@ -11,6 +11,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -22,34 +23,35 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers(
+    public CompletableFuture<ResponseEntity<Object>> getUsers(
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get users with from={}, size={}", from, size);
-        return userClient.getUsers(from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get users with from={}, size={}, cursor={}", from, size, cursor);
+        return userClient.getUsers(from, size, cursor);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         log.info("Get user {}", userId);
         return userClient.getUser(userId);
     }
 
     @PostMapping()
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
         log.info("Creating user {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> patchUser(@PathVariable Long userId,
+    public CompletableFuture<ResponseEntity<Object>> patchUser(@PathVariable Long userId,
                                             @RequestBody UserDto userDto) {
         log.info("Patch user {}", userDto);
         return userClient.patchUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info("Delete user by id {}", userId);
         return userClient.deleteUser(userId);
     }
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class HttpClientServerExchangeTest {
+    private static final byte[] USER = "{\"id\":1,\"name\":\"Иван\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NOT_FOUND = "{\"error\":\"Пользователя с id 5 не существует\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVER_ERROR = "{\"error\":\"Ошибка сервера\"}".getBytes(StandardCharsets.UTF_8);
+
+    HttpServer server;
+    ExecutorService serverExecutor;
+    ShareItServerProperties properties;
+    HttpClientProperties httpClientProperties;
+    String serverUrl;
+    List<HttpClientServerExchange> asyncExchanges = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", exchange -> respond(exchange, 200, USER));
+        server.createContext("/users/5", exchange -> respond(exchange, 404, NOT_FOUND));
+        server.createContext("/users/7", exchange -> respond(exchange, 409, new byte[0]));
+        server.createContext("/users/9", exchange -> respond(exchange, 500, SERVER_ERROR));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, USER);
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+        properties = new ShareItServerProperties();
+        httpClientProperties = new HttpClientProperties();
+        httpClientProperties.setReadTimeout(Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void afterEach() {
+        asyncExchanges.forEach(HttpClientServerExchange::shutdown);
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testOkSameResponseInBothModes() {
+        ResponseEntity<Object> blocking = blocking().exchange(HttpMethod.GET, "/users/1", 1L, null, null).join();
+        ResponseEntity<Object> async = async().exchange(HttpMethod.GET, "/users/1", 1L, null, null).join();
+
+        Assertions.assertEquals(HttpStatus.OK, async.getStatusCode());
+        Assertions.assertEquals(blocking.getStatusCode(), async.getStatusCode());
+        Assertions.assertEquals(Map.of("id", 1, "name", "Иван"), async.getBody());
+        Assertions.assertEquals(blocking.getBody(), async.getBody());
+    }
+
+    @Test
+    void testOkSamePassthroughResponseInBothModes() {
+        properties.setPassthrough(true);
+
+        ResponseEntity<Object> blocking = blocking().exchange(HttpMethod.GET, "/users/1", 1L, null, null).join();
+        ResponseEntity<Object> async = async().exchange(HttpMethod.GET, "/users/1", 1L, null, null).join();
+
+        Assertions.assertEquals(blocking.getStatusCode(), async.getStatusCode());
+        Assertions.assertArrayEquals(USER, (byte[]) async.getBody());
+        Assertions.assertArrayEquals((byte[]) blocking.getBody(), (byte[]) async.getBody());
+        Assertions.assertEquals(List.of("Mg"), async.getHeaders().get("X-Next-Cursor"));
+        Assertions.assertEquals(blocking.getHeaders().get("X-Next-Cursor"), async.getHeaders().get("X-Next-Cursor"));
+    }
+
+    @Test
+    void testOkSameErrorMappingInBothModes() {
+        for (boolean passthrough : new boolean[]{false, true}) {
+            properties.setPassthrough(passthrough);
+            RestTemplateServerExchange blockingExchange = blocking();
+            HttpClientServerExchange asyncExchange = async();
+            for (String path : List.of("/users/5", "/users/7", "/users/9")) {
+                ResponseEntity<Object> blocking = blockingExchange.exchange(HttpMethod.GET, path, 1L, null, null)
+                        .join();
+                ResponseEntity<Object> async = asyncExchange.exchange(HttpMethod.GET, path, 1L, null, null).join();
+
+                Assertions.assertEquals(blocking.getStatusCode(), async.getStatusCode(), path);
+                Assertions.assertArrayEquals((byte[]) blocking.getBody(), (byte[]) async.getBody(), path);
+            }
+        }
+    }
+
+    @Test
+    void testFailAsyncExchangeTimesOut() {
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> async().exchange(HttpMethod.GET, "/slow", 1L, null, null).join());
+
+        Assertions.assertInstanceOf(HttpTimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void testFailStreamedExchangeTimesOut() {
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        Assertions.assertThrows(HttpTimeoutException.class,
+                () -> async().exchangeToResponse(HttpMethod.GET, "/slow", 1L, response));
+    }
+
+    private RestTemplateServerExchange blocking() {
+        return new RestTemplateServerExchange(serverUrl, new RestTemplateBuilder(),
+                new SimpleClientHttpRequestFactory(), new SimpleClientHttpRequestFactory(), properties);
+    }
+
+    private HttpClientServerExchange async() {
+        HttpClientServerExchange exchange = new HttpClientServerExchange(serverUrl, properties, httpClientProperties,
+                new ObjectMapper(), false);
+        asyncExchanges.add(exchange);
+        return exchange;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("X-Next-Cursor", "Mg");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
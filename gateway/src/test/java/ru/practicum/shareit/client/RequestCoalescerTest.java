@@ -0,0 +1,170 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RequestCoalescerTest {
+    private static final String KEY = "1 /items/1 ";
+    private static final String RESOURCE = "/items/1";
+
+    @Mock
+    ShareItServerExchange mockExchange;
+
+    SimpleMeterRegistry meterRegistry;
+    RequestCoalescer requestCoalescer;
+    CountDownLatch upstreamRelease;
+    CompletableFuture<ResponseEntity<Object>> upstream;
+    AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void beforeEach() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setCoalesceGets(true);
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(properties, meterRegistry);
+        upstreamRelease = new CountDownLatch(1);
+        upstream = new CompletableFuture<>();
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testOkConcurrentGetsShareOneUpstreamRequest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(4);
+        try {
+            List<Future<CompletableFuture<ResponseEntity<Object>>>> callers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                callers.add(executor.submit(() -> {
+                    started.countDown();
+                    started.await();
+                    return requestCoalescer.execute(KEY, RESOURCE, this::latchedUpstream);
+                }));
+            }
+            List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (Future<CompletableFuture<ResponseEntity<Object>>> caller : callers) {
+                responses.add(caller.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertTrue(responses.stream().noneMatch(CompletableFuture::isDone));
+            Assertions.assertEquals(1, inFlight());
+
+            upstreamRelease.countDown();
+            for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+                Assertions.assertEquals(Map.of("id", 1), response.get(5, TimeUnit.SECONDS).getBody());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals(1, requests("upstream"));
+        Assertions.assertEquals(3, requests("coalesced"));
+    }
+
+    @Test
+    void testOkCompletedRequestIsRemoved() {
+        CompletableFuture<ResponseEntity<Object>> first = requestCoalescer.execute(KEY, RESOURCE, () -> upstream);
+        Assertions.assertEquals(1, inFlight());
+
+        upstream.complete(ResponseEntity.ok(Map.of("id", 1)));
+        CompletableFuture<ResponseEntity<Object>> second = requestCoalescer.execute(KEY, RESOURCE,
+                () -> CompletableFuture.completedFuture(ResponseEntity.ok(Map.of("id", 2))));
+
+        Assertions.assertEquals(Map.of("id", 1), first.join().getBody());
+        Assertions.assertEquals(Map.of("id", 2), second.join().getBody());
+        Assertions.assertEquals(0, inFlight());
+        Assertions.assertEquals(2, requests("upstream"));
+        Assertions.assertEquals(0, requests("coalesced"));
+    }
+
+    @Test
+    void testFailExceptionalCompletionReachesEveryCallerAndIsRemoved() {
+        CompletableFuture<ResponseEntity<Object>> first = requestCoalescer.execute(KEY, RESOURCE, () -> upstream);
+        CompletableFuture<ResponseEntity<Object>> joined = requestCoalescer.execute(KEY, RESOURCE, () -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("server is down"));
+
+        Assertions.assertThrows(CompletionException.class, first::join);
+        Assertions.assertThrows(CompletionException.class, joined::join);
+        Assertions.assertEquals(0, inFlight());
+        Assertions.assertEquals(1, requests("upstream"));
+        Assertions.assertEquals(1, requests("coalesced"));
+    }
+
+    @Test
+    void testFailSupplierThrowsIsRemoved() {
+        CompletableFuture<ResponseEntity<Object>> response = requestCoalescer.execute(KEY, RESOURCE, () -> {
+            throw new IllegalStateException("no connection");
+        });
+
+        Assertions.assertThrows(CompletionException.class, response::join);
+        Assertions.assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testOkGetAfterWriteDoesNotJoinEarlierRequest() {
+        ItemClient itemClient = new ItemClient(mockExchange, requestCoalescer,
+                new ResponseCache(new ShareItServerProperties(), meterRegistry));
+        CompletableFuture<ResponseEntity<Object>> staleResponse = new CompletableFuture<>();
+        Mockito.when(mockExchange.exchange(HttpMethod.GET, "/items/1", 1L, null, null))
+                .thenReturn(staleResponse, CompletableFuture.completedFuture(ResponseEntity.ok(Map.of("name", "fresh"))));
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/items/1"), eq(1L), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(Map.of("id", 1))));
+
+        CompletableFuture<ResponseEntity<Object>> beforeWrite = itemClient.getItem(1L, 1L);
+        itemClient.patchItem(1L, 1L, null).join();
+        CompletableFuture<ResponseEntity<Object>> afterWrite = itemClient.getItem(1L, 1L);
+        staleResponse.complete(ResponseEntity.ok(Map.of("name", "stale")));
+
+        Assertions.assertEquals(Map.of("name", "stale"), beforeWrite.join().getBody());
+        Assertions.assertEquals(Map.of("name", "fresh"), afterWrite.join().getBody());
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        Assertions.assertEquals(0, inFlight());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> latchedUpstream() {
+        upstreamCalls.incrementAndGet();
+        return upstream.completeAsync(() -> {
+            try {
+                upstreamRelease.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok(Map.of("id", 1));
+        });
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.get.in-flight").gauge().value();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.get.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ResponseCacheTest {
+
+    @Mock
+    ShareItServerExchange mockExchange;
+
+    SimpleMeterRegistry meterRegistry;
+    ItemClient itemClient;
+    ItemRequestClient itemRequestClient;
+    BookingClient bookingClient;
+    UserClient userClient;
+
+    @BeforeEach
+    void beforeEach() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.getCache().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer requestCoalescer = new RequestCoalescer(properties, meterRegistry);
+        ResponseCache responseCache = new ResponseCache(properties, meterRegistry);
+        itemClient = new ItemClient(mockExchange, requestCoalescer, responseCache);
+        itemRequestClient = new ItemRequestClient(mockExchange, requestCoalescer, responseCache);
+        bookingClient = new BookingClient(mockExchange, requestCoalescer, responseCache, new ObjectMapper());
+        userClient = new UserClient(mockExchange, requestCoalescer, responseCache);
+        Mockito.lenient().when(mockExchange.exchange(eq(HttpMethod.GET), anyString(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> ok(Map.of("path", invocation.getArgument(1))));
+    }
+
+    @Test
+    void testOkRepeatedGetIsHit() {
+        itemClient.getItem(1L, 1L).join();
+        ResponseEntity<Object> response = itemClient.getItem(1L, 1L).join();
+
+        Assertions.assertEquals(Map.of("path", "/items/1"), response.getBody());
+        verify(mockExchange, times(1)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        Assertions.assertEquals(1, requests("hit"));
+        Assertions.assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    void testOkGetByOtherUserIsMiss() {
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(2L, 1L).join();
+
+        verify(mockExchange, times(1)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        verify(mockExchange, times(1)).exchange(HttpMethod.GET, "/items/1", 2L, null, null);
+        Assertions.assertEquals(0, requests("hit"));
+        Assertions.assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    void testOkErrorResponseIsNotCached() {
+        Mockito.when(mockExchange.exchange(HttpMethod.GET, "/items/1", 1L, null, null))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(1L, 1L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+    }
+
+    @Test
+    void testOkPatchItemInvalidatesItemForAllUsers() {
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/items/1"), eq(1L), any(), any()))
+                .thenReturn(ok(Map.of("id", 1)));
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(2L, 1L).join();
+        itemClient.getItem(1L, 11L).join();
+
+        itemClient.patchItem(1L, 1L, null).join();
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(2L, 1L).join();
+        itemClient.getItem(1L, 11L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 2L, null, null);
+        verify(mockExchange, times(1)).exchange(HttpMethod.GET, "/items/11", 1L, null, null);
+    }
+
+    @Test
+    void testOkInvalidationDuringMissIsNotOverwritten() {
+        CompletableFuture<ResponseEntity<Object>> staleResponse = new CompletableFuture<>();
+        Mockito.when(mockExchange.exchange(HttpMethod.GET, "/items/1", 1L, null, null))
+                .thenReturn(staleResponse, ok(Map.of("name", "fresh")));
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/items/1"), eq(1L), any(), any()))
+                .thenReturn(ok(Map.of("id", 1)));
+
+        CompletableFuture<ResponseEntity<Object>> inFlight = itemClient.getItem(1L, 1L);
+        itemClient.patchItem(1L, 1L, null).join();
+        staleResponse.complete(ResponseEntity.ok(Map.of("name", "stale")));
+
+        Assertions.assertEquals(Map.of("name", "stale"), inFlight.join().getBody());
+        Assertions.assertEquals(Map.of("name", "fresh"), itemClient.getItem(1L, 1L).join().getBody());
+        Assertions.assertEquals(Map.of("name", "fresh"), itemClient.getItem(1L, 1L).join().getBody());
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+    }
+
+    @Test
+    void testOkPatchBookingInvalidatesBookedItem() {
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/bookings/5?approved={approved}"), eq(1L),
+                        any(), any()))
+                .thenReturn(ok(Map.of("id", 5, "item", Map.of("id", 1))));
+        itemClient.getItem(1L, 1L).join();
+
+        bookingClient.patchBooking(1L, 5L, true).join();
+        itemClient.getItem(1L, 1L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+    }
+
+    @Test
+    void testOkPatchBookingInvalidatesBookedItemInPassthroughMode() {
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/bookings/5?approved={approved}"), eq(1L),
+                        any(), any()))
+                .thenReturn(ok("{\"id\":5,\"item\":{\"id\":1,\"name\":\"Дрель\"}}".getBytes(StandardCharsets.UTF_8)));
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(1L, 2L).join();
+
+        bookingClient.patchBooking(1L, 5L, true).join();
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(1L, 2L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        verify(mockExchange, times(1)).exchange(HttpMethod.GET, "/items/2", 1L, null, null);
+    }
+
+    @Test
+    void testOkPatchBookingWithUnreadableBodyInvalidatesAllItems() {
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/bookings/5?approved={approved}"), eq(1L),
+                        any(), any()))
+                .thenReturn(ok("not json".getBytes(StandardCharsets.UTF_8)));
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(1L, 2L).join();
+
+        bookingClient.patchBooking(1L, 5L, true).join();
+        itemClient.getItem(1L, 1L).join();
+        itemClient.getItem(1L, 2L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/2", 1L, null, null);
+    }
+
+    @Test
+    void testOkPatchUserInvalidatesItemsAndRequests() {
+        Mockito.when(mockExchange.exchange(eq(HttpMethod.PATCH), eq("/users/2"), any(), any(), any()))
+                .thenReturn(ok(Map.of("id", 2)));
+        itemClient.getItem(1L, 1L).join();
+        itemRequestClient.findItemRequestById(1L, 3L).join();
+
+        userClient.patchUser(2L, new UserDto()).join();
+        itemClient.getItem(1L, 1L).join();
+        itemRequestClient.findItemRequestById(1L, 3L).join();
+
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/items/1", 1L, null, null);
+        verify(mockExchange, times(2)).exchange(HttpMethod.GET, "/requests/3", 1L, null, null);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> ok(Object body) {
+        return CompletableFuture.completedFuture(ResponseEntity.ok(body));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class RestTemplateServerExchangeTest {
+    private static final byte[] BODY = "[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8);
+
+    MockRestServiceServer server;
+    MockRestServiceServer streamingServer;
+    RestTemplateServerExchange exchange;
+
+    @BeforeEach
+    void beforeEach() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setPassthrough(true);
+        List<MockRestServiceServer> servers = new ArrayList<>();
+        RestTemplateBuilder builder = new RestTemplateBuilder(
+                restTemplate -> servers.add(MockRestServiceServer.bindTo(restTemplate).build()));
+        exchange = new RestTemplateServerExchange("http://localhost:9090", builder,
+                new SimpleClientHttpRequestFactory(), new SimpleClientHttpRequestFactory(), properties);
+        server = servers.get(0);
+        streamingServer = servers.get(1);
+    }
+
+    @Test
+    void testOkPassthroughKeepsEndToEndHeadersAndBody() {
+        server.expect(requestTo("http://localhost:9090/users?from=0&size=2"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(BaseClient.USER_ID_HEADER, "1"))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON).headers(serverHeaders()));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/users?from=0&size=2", 1L, null, null)
+                .join();
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(BODY, (byte[]) response.getBody());
+        assertEndToEndHeaders(response.getHeaders());
+    }
+
+    @Test
+    void testOkPassthroughErrorKeepsStatusAndBody() {
+        byte[] error = "{\"error\":\"Пользователя с id 5 не существует\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://localhost:9090/users/5"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/users/5", null, null, null).join();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertArrayEquals(error, (byte[]) response.getBody());
+    }
+
+    @Test
+    void testOkStreamedResponseKeepsEndToEndHeadersAndBody() throws Exception {
+        streamingServer.expect(requestTo("http://localhost:9090/bookings/owner/export"))
+                .andExpect(header(BaseClient.USER_ID_HEADER, "1"))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_NDJSON).headers(serverHeaders()));
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        exchange.exchangeToResponse(HttpMethod.GET, "/bookings/owner/export", 1L,
+                new ServletServerHttpResponse(servletResponse));
+
+        streamingServer.verify();
+        Assertions.assertEquals(200, servletResponse.getStatus());
+        Assertions.assertArrayEquals(BODY, servletResponse.getContentAsByteArray());
+        Assertions.assertEquals(MediaType.APPLICATION_NDJSON_VALUE, servletResponse.getContentType());
+        Assertions.assertEquals("Mg", servletResponse.getHeader("X-Next-Cursor"));
+        Assertions.assertNull(servletResponse.getHeader(HttpHeaders.CONNECTION));
+        Assertions.assertNull(servletResponse.getHeader("Keep-Alive"));
+        Assertions.assertNull(servletResponse.getHeader(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    private static HttpHeaders serverHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "Mg");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        return headers;
+    }
+
+    private static void assertEndToEndHeaders(HttpHeaders headers) {
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        Assertions.assertEquals("Mg", headers.getFirst("X-Next-Cursor"));
+        Assertions.assertFalse(headers.containsKey(HttpHeaders.CONNECTION));
+        Assertions.assertFalse(headers.containsKey("Keep-Alive"));
+        Assertions.assertFalse(headers.containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+}
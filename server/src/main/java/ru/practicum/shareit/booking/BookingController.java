@@ -1,9 +1,17 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.Cursor;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -11,6 +19,7 @@ import java.util.List;
 @AllArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -34,15 +43,49 @@ public class BookingController {
     public List<BookingDto> findAllBookingByUser(@RequestHeader("X-Sharer-User-Id") long userId,
                                                  @RequestParam(defaultValue = "ALL") String state,
                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                 @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findAllBookingByUser(userId, state, from, size);
+                                                 @RequestParam(defaultValue = "10") Integer size,
+                                                 @RequestParam(required = false) String cursor,
+                                                 HttpServletResponse response) {
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.findAllBookingByUser(userId, state, from, size)
+                : bookingService.findAllBookingByUserAfter(userId, state, Cursor.decode(cursor), size);
+        Cursor.next(bookings, size, BookingDto::getStart, BookingDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return bookings;
     }
 
     @GetMapping("/owner")
     public List<BookingDto> findAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
                                                   @RequestParam(defaultValue = "ALL") String state,
                                                   @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findAllBookingByOwner(userId, state, from, size);
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  @RequestParam(required = false) String cursor,
+                                                  HttpServletResponse response) {
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.findAllBookingByOwner(userId, state, from, size)
+                : bookingService.findAllBookingByOwnerAfter(userId, state, Cursor.decode(cursor), size);
+        Cursor.next(bookings, size, BookingDto::getStart, BookingDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return bookings;
+    }
+
+    @GetMapping("/owner/export")
+    public void exportAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        HttpServletResponse response) throws IOException {
+        BookingExport export = bookingService.exportAllBookingByOwner(userId);
+        ObjectWriter writer = objectMapper.writerFor(BookingDto.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        export.writeTo(bookings -> {
+            try {
+                ServletOutputStream out = response.getOutputStream();
+                for (BookingDto booking : bookings) {
+                    out.write(writer.writeValueAsBytes(booking));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface BookingExport {
+    void writeTo(Consumer<List<BookingDto>> consumer);
+}
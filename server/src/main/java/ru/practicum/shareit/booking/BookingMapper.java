@@ -4,6 +4,10 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class BookingMapper {
     public static BookingDto toBookingDto(Booking booking, UserDto userDto, ItemDto itemDto) {
         BookingDto bookingDto = new BookingDto();
@@ -15,4 +19,10 @@ public class BookingMapper {
         bookingDto.setItem(itemDto);
         return bookingDto;
     }
+
+    public static List<BookingDto> toBookingDtos(List<Booking> bookings, Map<Long, UserDto> users,
+                                                 Map<Long, ItemDto> items) {
+        return bookings.stream().map(booking -> toBookingDto(booking, users.get(booking.getBookerId()),
+                items.get(booking.getItemId()))).collect(Collectors.toList());
+    }
 }
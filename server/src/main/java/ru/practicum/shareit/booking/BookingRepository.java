@@ -2,15 +2,127 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
 
+    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, Status status, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime end,
+                                                                Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime start,
+                                                                 Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(long bookerId, LocalDateTime start,
+                                                                             LocalDateTime end, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 order by b.start desc")
+    List<Booking> findAllByOwnerId(long ownerId, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.status = ?2" +
+            " order by b.start desc")
+    List<Booking> findAllByOwnerIdAndStatus(long ownerId, Status status, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.end < ?2" +
+            " order by b.start desc")
+    List<Booking> findAllByOwnerIdAndEndBefore(long ownerId, LocalDateTime end, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.start > ?2" +
+            " order by b.start desc")
+    List<Booking> findAllByOwnerIdAndStartAfter(long ownerId, LocalDateTime start, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.start < ?2" +
+            " and b.end > ?3 order by b.start desc")
+    List<Booking> findAllByOwnerIdAndStartBeforeAndEndAfter(long ownerId, LocalDateTime start, LocalDateTime end,
+                                                            Pageable pageable);
+
+    @Query("select b from Booking b where b.bookerId = ?1" +
+            " and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    List<Booking> findPageByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.bookerId = ?1 and b.status = ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByBookerIdAndStatus(long bookerId, Status status, LocalDateTime cursorStart,
+                                              long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.bookerId = ?1 and b.end < ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByBookerIdAndEndBefore(long bookerId, LocalDateTime end, LocalDateTime cursorStart,
+                                                 long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.bookerId = ?1 and b.start > ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByBookerIdAndStartAfter(long bookerId, LocalDateTime start, LocalDateTime cursorStart,
+                                                  long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b where b.bookerId = ?1 and b.start < ?2 and b.end > ?3" +
+            " and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) order by b.start desc, b.id desc")
+    List<Booking> findPageByBookerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime start, LocalDateTime end,
+                                                              LocalDateTime cursorStart, long cursorId,
+                                                              Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1" +
+            " and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    List<Booking> findPageByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.status = ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByOwnerIdAndStatus(long ownerId, Status status, LocalDateTime cursorStart,
+                                             long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.end < ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByOwnerIdAndEndBefore(long ownerId, LocalDateTime end, LocalDateTime cursorStart,
+                                                long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.start > ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    List<Booking> findPageByOwnerIdAndStartAfter(long ownerId, LocalDateTime start, LocalDateTime cursorStart,
+                                                 long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1 and b.start < ?2" +
+            " and b.end > ?3 and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) order by b.start desc, b.id desc")
+    List<Booking> findPageByOwnerIdAndStartBeforeAndEndAfter(long ownerId, LocalDateTime start, LocalDateTime end,
+                                                             LocalDateTime cursorStart, long cursorId,
+                                                             Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b from Booking b join Item i on i.id = b.itemId where i.ownerId = ?1" +
+            " order by b.start desc, b.id desc")
+    Stream<Booking> streamAllByOwnerId(long ownerId);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(long itemId, Collection<Status> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(long itemId, long bookingId,
+                                                                       Collection<Status> statuses,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    @Query("select b.status from Booking b where b.id = ?1")
+    Status findStatusById(long bookingId);
+
     List<Booking> findAllByItemId(long itemId);
 
-    List<Booking> findAllByItemIdOrderByStartDesc(long itemId);
+    Optional<Booking> findFirstByItemIdAndStatusAndEndBeforeOrderByStartDesc(long itemId, Status status,
+                                                                             LocalDateTime end);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(long itemId, Status status,
+                                                                             LocalDateTime start);
 
-    List<Booking> findAllByStatusOrderByStartDesc(Status status);
+    Optional<Booking> findFirstByItemIdAndStatusAndEndAfterOrderByEndAsc(long itemId, Status status,
+                                                                         LocalDateTime end);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -13,5 +14,11 @@ public interface BookingService {
 
     List<BookingDto> findAllBookingByUser(long bookerId, String state, Integer from, Integer size);
 
+    List<BookingDto> findAllBookingByUserAfter(long bookerId, String state, Cursor cursor, Integer size);
+
     List<BookingDto> findAllBookingByOwner(long ownerId, String state, Integer from, Integer size);
+
+    List<BookingDto> findAllBookingByOwnerAfter(long ownerId, String state, Cursor cursor, Integer size);
+
+    BookingExport exportAllBookingByOwner(long ownerId);
 }
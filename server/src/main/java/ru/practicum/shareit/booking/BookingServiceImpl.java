@@ -1,30 +1,49 @@
 package ru.practicum.shareit.booking;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
+    static final int EXPORT_BATCH_SIZE = 500;
+
     private final UserService userService;
     private final ItemService itemService;
     private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
+    @Transactional
     public BookingDto createBooking(long userId, Booking booking) {
         ItemDto itemDto = itemService.findItemById(userId, booking.getItemId());
-        boolean isUserItem = itemService.findAllItem(userId, 0, 100).stream()
-                .anyMatch(item -> Objects.equals(booking.getItemId(), item.getId()));
+        boolean isUserItem = itemService.isItemOwner(userId, booking.getItemId());
         if (isUserItem) {
             throw new BookingNotFoundException("Вы являетесь владельцем данной вещи");
         }
@@ -33,26 +52,42 @@ public class BookingServiceImpl implements BookingService {
         } else if (booking.getEnd().isBefore(booking.getStart())) {
             throw new BookingException("Время старта бронирования позже времени окончания бронирования");
         }
+        itemService.lockItem(booking.getItemId());
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(booking.getItemId(),
+                List.of(Status.WAITING, Status.APPROVED), booking.getEnd(), booking.getStart())) {
+            throw new BookingException(String.format("Вещь с id %d уже забронирована на это время",
+                    booking.getItemId()));
+        }
         booking.setStatus(Status.WAITING);
         booking.setBookerId(userId);
         return BookingMapper.toBookingDto(bookingRepository.save(booking), userService.findUserById(userId), itemDto);
     }
 
     @Override
+    @Transactional
     public BookingDto patchBooking(long userId, long bookingId, boolean approved) {
         Booking booking = findById(bookingId);
-        if (booking.getStatus().equals(Status.APPROVED) && approved) {
-            throw new BookingException("Статус бронирования уже подтвержден");
-        }
-        boolean isUserItem = itemService.findAllItem(userId, 0, 100).stream()
-                .anyMatch(item -> Objects.equals(booking.getItemId(), item.getId()));
+        boolean isUserItem = itemService.isItemOwner(userId, booking.getItemId());
         if (isUserItem) {
+            itemService.lockItem(booking.getItemId());
+            booking.setStatus(bookingRepository.findStatusById(bookingId));
             if (approved) {
+                if (booking.getStatus().equals(Status.APPROVED)) {
+                    throw new BookingException("Статус бронирования уже подтвержден");
+                }
+                if (bookingRepository.existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(
+                        booking.getItemId(), bookingId, List.of(Status.WAITING, Status.APPROVED),
+                        booking.getEnd(), booking.getStart())) {
+                    throw new BookingException(String.format("Вещь с id %d уже забронирована на это время",
+                            booking.getItemId()));
+                }
                 booking.setStatus(Status.APPROVED);
             } else {
                 booking.setStatus(Status.REJECTED);
             }
-            return BookingMapper.toBookingDto(bookingRepository.save(booking),
+            Booking savedBooking = bookingRepository.save(booking);
+            itemBookingSummaryService.refresh(savedBooking.getItemId());
+            return BookingMapper.toBookingDto(savedBooking,
                     userService.findUserById(booking.getBookerId()),
                     itemService.findItemById(userId, booking.getItemId()));
         } else {
@@ -64,8 +99,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingDto findBookingById(long userId, long bookingId) {
         Booking booking = findById(bookingId);
-        boolean isUserItem = itemService.findAllItem(userId, 0, 100).stream()
-                .anyMatch(item -> Objects.equals(booking.getItemId(), item.getId()));
+        boolean isUserItem = itemService.isItemOwner(userId, booking.getItemId());
         if (isUserItem || Objects.equals(userId, booking.getBookerId())) {
             return BookingMapper.toBookingDto(booking,
                     userService.findUserById(booking.getBookerId()),
@@ -79,73 +113,162 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> findAllBookingByUser(long bookerId, String state, Integer from, Integer size) {
         userService.findUserById(bookerId);
-        Pageable pageable = PageRequest.of(((from) / size), size);
-        List<Booking> bookingList = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
-        bookingList = getBookingByState(state, bookingList);
-        return bookingList.stream().map(booking -> BookingMapper.toBookingDto(booking,
-                userService.findUserById(bookerId),
-                itemService.findItemById(bookerId, booking.getItemId()))).collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(((from) / size), size, Sort.by("id").descending());
+        return toBookingDtos(getBookingByBookerAndState(bookerId, state, pageable));
+    }
+
+    @Override
+    public List<BookingDto> findAllBookingByUserAfter(long bookerId, String state, Cursor cursor, Integer size) {
+        userService.findUserById(bookerId);
+        return toBookingDtos(getBookingPageByBookerAndState(bookerId, state, cursor, PageRequest.of(0, size)));
     }
 
-    private List<Booking> getBookingByState(String state, List<Booking> bookingList) {
+    private List<Booking> getBookingByBookerAndState(long bookerId, String state, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
         switch (state) {
             case "ALL":
-                break;
+                return bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
             case "WAITING":
-                bookingList = bookingList.stream()
-                        .filter(booking -> booking.getStatus() == Status.WAITING).collect(Collectors.toList());
-                break;
+                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, Status.WAITING,
+                        pageable);
             case "REJECTED":
-                bookingList = bookingList.stream()
-                        .filter(booking -> booking.getStatus() == Status.REJECTED).collect(Collectors.toList());
-                break;
+                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, Status.REJECTED,
+                        pageable);
             case "PAST":
-                bookingList = bookingList.stream()
-                        .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now())).collect(Collectors.toList());
-                break;
+                return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageable);
             case "FUTURE":
-                bookingList = bookingList.stream()
-                        .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                        .collect(Collectors.toList());
-                break;
+                return bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, pageable);
             case "CURRENT":
-                bookingList = bookingList.stream()
-                        .filter(booking -> booking.getStart().isBefore(LocalDateTime.now())
-                                && booking.getEnd().isAfter(LocalDateTime.now())).collect(Collectors.toList());
-                break;
+                return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId,
+                        now, now, pageable);
             default:
                 throw new BookingException(String.format("Unknown state: %s", state));
         }
-        return bookingList;
     }
 
     @Override
     public List<BookingDto> findAllBookingByOwner(long ownerId, String state, Integer from, Integer size) {
         userService.findUserById(ownerId);
-        List<Long> itemId = itemService.findAllItem(ownerId, 0, 100)
-                .stream().map(ItemDto::getId).collect(Collectors.toList());
-        List<Booking> bookingList = new ArrayList<>();
-        Map<Long, List<Booking>> bookings =
-                bookingRepository.findAll().stream().collect(Collectors.groupingBy(Booking::getItemId));
-        for (Long id : itemId) {
-            bookingList.addAll(bookings.getOrDefault(id, Collections.emptyList()));
-        }
-        bookingList = bookingList.stream().sorted((booking1, booking2)
-                -> {
-            if (booking1.getStart().isBefore(booking2.getStart())) {
-                return 1;
-            } else if (booking1.getStart().equals(booking2.getStart())) {
-                return 0;
-            } else {
-                return -1;
+        Pageable pageable = PageRequest.of(((from) / size), size, Sort.by("id").descending());
+        return toBookingDtos(getBookingByOwnerAndState(ownerId, state, pageable));
+    }
+
+    @Override
+    public List<BookingDto> findAllBookingByOwnerAfter(long ownerId, String state, Cursor cursor, Integer size) {
+        userService.findUserById(ownerId);
+        return toBookingDtos(getBookingPageByOwnerAndState(ownerId, state, cursor, PageRequest.of(0, size)));
+    }
+
+    @Override
+    public BookingExport exportAllBookingByOwner(long ownerId) {
+        userService.findUserById(ownerId);
+        return consumer -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> exportBatches(ownerId, consumer));
+        };
+    }
+
+    private void exportBatches(long ownerId, Consumer<List<BookingDto>> consumer) {
+        List<Booking> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+                    consumer.accept(toBookingDtos(batch));
+                    batch.clear();
+                    entityManager.clear();
+                }
             }
-        }).collect(Collectors.toList());
+        }
+    }
 
-        bookingList = getBookingByState(state, bookingList);
-        bookingList = bookingList.stream().skip(from).limit(size).collect(Collectors.toList());
-        return bookingList.stream().map(booking -> BookingMapper.toBookingDto(booking,
-                userService.findUserById(booking.getBookerId()),
-                itemService.findItemById(booking.getBookerId(), booking.getItemId()))).collect(Collectors.toList());
+    private List<Booking> getBookingByOwnerAndState(long ownerId, String state, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findAllByOwnerId(ownerId, pageable);
+            case "WAITING":
+                return bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.WAITING, pageable);
+            case "REJECTED":
+                return bookingRepository.findAllByOwnerIdAndStatus(ownerId, Status.REJECTED, pageable);
+            case "PAST":
+                return bookingRepository.findAllByOwnerIdAndEndBefore(ownerId, now, pageable);
+            case "FUTURE":
+                return bookingRepository.findAllByOwnerIdAndStartAfter(ownerId, now, pageable);
+            case "CURRENT":
+                return bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(ownerId, now, now, pageable);
+            default:
+                throw new BookingException(String.format("Unknown state: %s", state));
+        }
+    }
+
+    private List<Booking> getBookingPageByBookerAndState(long bookerId, String state, Cursor cursor,
+                                                         Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findPageByBookerId(bookerId, cursor.getRequiredKey(), cursor.getId(),
+                        pageable);
+            case "WAITING":
+                return bookingRepository.findPageByBookerIdAndStatus(bookerId, Status.WAITING,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            case "REJECTED":
+                return bookingRepository.findPageByBookerIdAndStatus(bookerId, Status.REJECTED,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            case "PAST":
+                return bookingRepository.findPageByBookerIdAndEndBefore(bookerId, now, cursor.getRequiredKey(),
+                        cursor.getId(), pageable);
+            case "FUTURE":
+                return bookingRepository.findPageByBookerIdAndStartAfter(bookerId, now, cursor.getRequiredKey(),
+                        cursor.getId(), pageable);
+            case "CURRENT":
+                return bookingRepository.findPageByBookerIdAndStartBeforeAndEndAfter(bookerId, now, now,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            default:
+                throw new BookingException(String.format("Unknown state: %s", state));
+        }
+    }
+
+    private List<Booking> getBookingPageByOwnerAndState(long ownerId, String state, Cursor cursor,
+                                                        Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findPageByOwnerId(ownerId, cursor.getRequiredKey(), cursor.getId(),
+                        pageable);
+            case "WAITING":
+                return bookingRepository.findPageByOwnerIdAndStatus(ownerId, Status.WAITING,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            case "REJECTED":
+                return bookingRepository.findPageByOwnerIdAndStatus(ownerId, Status.REJECTED,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            case "PAST":
+                return bookingRepository.findPageByOwnerIdAndEndBefore(ownerId, now, cursor.getRequiredKey(),
+                        cursor.getId(), pageable);
+            case "FUTURE":
+                return bookingRepository.findPageByOwnerIdAndStartAfter(ownerId, now, cursor.getRequiredKey(),
+                        cursor.getId(), pageable);
+            case "CURRENT":
+                return bookingRepository.findPageByOwnerIdAndStartBeforeAndEndAfter(ownerId, now, now,
+                        cursor.getRequiredKey(), cursor.getId(), pageable);
+            default:
+                throw new BookingException(String.format("Unknown state: %s", state));
+        }
+    }
+
+    private List<BookingDto> toBookingDtos(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> bookerIds = bookings.stream().map(Booking::getBookerId).collect(Collectors.toSet());
+        Set<Long> itemIds = bookings.stream().map(Booking::getItemId).collect(Collectors.toSet());
+        Map<Long, UserDto> users = userService.findAllUserByIds(bookerIds).stream()
+                .collect(Collectors.toMap(UserDto::getId, userDto -> userDto));
+        Map<Long, ItemDto> items = itemService.findAllItemByIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemDto::getId, itemDto -> itemDto));
+        return BookingMapper.toBookingDtos(bookings, users, items);
     }
 
     private Booking findById(long bookingId) {
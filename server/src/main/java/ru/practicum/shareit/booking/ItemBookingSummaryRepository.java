@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    List<ItemBookingSummary> findAllByRefreshAtLessThanEqual(LocalDateTime refreshAt);
+}
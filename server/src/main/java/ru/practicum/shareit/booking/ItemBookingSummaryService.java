@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+    ItemBookingSummary refresh(long itemId);
+
+    Map<Long, ItemBookingSummary> findAllByItemIds(Collection<Long> itemIds);
+
+    void refreshExpired();
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public ItemBookingSummary refresh(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Booking> lastBooking = bookingRepository
+                .findFirstByItemIdAndStatusAndEndBeforeOrderByStartDesc(itemId, Status.APPROVED, now);
+        Optional<Booking> nextBooking = bookingRepository
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId, Status.APPROVED, now);
+        Optional<Booking> endingBooking = bookingRepository
+                .findFirstByItemIdAndStatusAndEndAfterOrderByEndAsc(itemId, Status.APPROVED, now);
+        LocalDateTime refreshAt = nextBooking.map(Booking::getStart).orElse(null);
+        if (endingBooking.isPresent() && (refreshAt == null || endingBooking.get().getEnd().isBefore(refreshAt))) {
+            refreshAt = endingBooking.get().getEnd();
+        }
+        return itemBookingSummaryRepository.save(new ItemBookingSummary(itemId,
+                lastBooking.map(Booking::getId).orElse(null),
+                nextBooking.map(Booking::getId).orElse(null),
+                refreshAt));
+    }
+
+    @Override
+    public Map<Long, ItemBookingSummary> findAllByItemIds(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return itemBookingSummaryRepository.findAllById(itemIds).stream()
+                .map(summary -> summary.getRefreshAt() != null && !summary.getRefreshAt().isAfter(now)
+                        ? refresh(summary.getItemId()) : summary)
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, summary -> summary));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.refresh-delay:60000}",
+            initialDelayString = "${shareit.booking-summary.refresh-delay:60000}")
+    public void refreshExpired() {
+        itemBookingSummaryRepository.findAllByRefreshAtLessThanEqual(LocalDateTime.now())
+                .forEach(summary -> refresh(summary.getItemId()));
+    }
+}
@@ -8,6 +8,7 @@ import ru.practicum.shareit.booking.BookingException;
 import ru.practicum.shareit.booking.BookingNotFoundException;
 import ru.practicum.shareit.item.CommentException;
 import ru.practicum.shareit.item.ItemNotFoundException;
+import ru.practicum.shareit.pagination.CursorException;
 import ru.practicum.shareit.request.ItemRequestNotFoundException;
 import ru.practicum.shareit.user.UserNotFoundException;
 
@@ -52,6 +53,12 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler(CursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleCursorException(final CursorException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleRuntimeException(final RuntimeException e) {
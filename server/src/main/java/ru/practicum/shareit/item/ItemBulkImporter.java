@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class ItemBulkImporter {
+    static final int BATCH_SIZE = 500;
+
+    private final ObjectReader itemReader;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    public ItemBulkImporter(ObjectMapper objectMapper, ItemService itemService, UserService userService) {
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+        this.itemService = itemService;
+        this.userService = userService;
+    }
+
+    public ItemBulkResultDto importItems(long userId, InputStream body) throws IOException {
+        userService.findUserById(userId);
+        ItemBulkResultDto result = new ItemBulkResultDto(0, new ArrayList<>());
+        List<ItemDto> batch = new ArrayList<>(BATCH_SIZE);
+        List<Long> rows = new ArrayList<>(BATCH_SIZE);
+        long row = 0;
+        try (MappingIterator<ItemDto> items = itemReader.readValues(body)) {
+            while (true) {
+                ItemDto itemDto;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    itemDto = items.nextValue();
+                } catch (JsonParseException e) {
+                    result.getErrors().add(new ItemBulkErrorDto(row, "Некорректный JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    result.getErrors().add(new ItemBulkErrorDto(row++, e.getOriginalMessage()));
+                    continue;
+                }
+                String error = validate(itemDto);
+                if (error != null) {
+                    result.getErrors().add(new ItemBulkErrorDto(row++, error));
+                    continue;
+                }
+                batch.add(itemDto);
+                rows.add(row++);
+                if (batch.size() == BATCH_SIZE) {
+                    save(userId, batch, rows, result);
+                }
+            }
+        }
+        save(userId, batch, rows, result);
+        return result;
+    }
+
+    private void save(long userId, List<ItemDto> batch, List<Long> rows, ItemBulkResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            result.setCreated(result.getCreated() + itemService.createItems(userId, batch).size());
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    itemService.createItems(userId, List.of(batch.get(i)));
+                    result.setCreated(result.getCreated() + 1);
+                } catch (DataIntegrityViolationException rowException) {
+                    result.getErrors().add(new ItemBulkErrorDto(rows.get(i), "Вещь не сохранена: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage()));
+                }
+            }
+        }
+        batch.clear();
+        rows.clear();
+    }
+
+    private static String validate(ItemDto itemDto) {
+        if (itemDto == null) {
+            return "Вещь не может быть null";
+        }
+        itemDto.setId(null);
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название вещи не может быть пустым";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание вещи не может быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Статус доступности вещи должен быть указан";
+        }
+        return null;
+    }
+}
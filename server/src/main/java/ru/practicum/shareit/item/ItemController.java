@@ -1,10 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -12,12 +18,20 @@ import java.util.List;
 @AllArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemBulkImporter itemBulkImporter;
 
     @GetMapping
     public List<ItemDto> findAllItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @RequestParam Integer from,
-                                     @RequestParam Integer size) {
-        return itemService.findAllItem(userId, from, size);
+                                     @RequestParam(defaultValue = "0") Integer from,
+                                     @RequestParam Integer size,
+                                     @RequestParam(required = false) String cursor,
+                                     HttpServletResponse response) {
+        List<ItemDto> items = cursor == null
+                ? itemService.findAllItem(userId, from, size)
+                : itemService.findAllItemAfter(userId, Cursor.decode(cursor), size);
+        Cursor.next(items, size, ItemDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return items;
     }
 
     @GetMapping("/{itemId}")
@@ -32,6 +46,12 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemBulkResultDto createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                         InputStream body) throws IOException {
+        return itemBulkImporter.importItems(userId, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto patchItem(@RequestHeader("X-Sharer-User-Id") long userId,
                              @PathVariable long itemId,
@@ -42,9 +62,18 @@ public class ItemController {
     @GetMapping("/search")
     public List<ItemDto> searchItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                     @RequestParam String text,
-                                    @RequestParam Integer from,
-                                    @RequestParam Integer size) {
-        return itemService.searchItem(userId, text, from, size);
+                                    @RequestParam(defaultValue = "0") Integer from,
+                                    @RequestParam Integer size,
+                                    @RequestParam(required = false) String cursor,
+                                    HttpServletResponse response) {
+        List<ItemDto> items = cursor == null
+                ? itemService.searchItem(userId, text, from, size)
+                : itemService.searchItemAfter(userId, text, Cursor.decode(cursor), size);
+        if (cursor != null || itemService.isSearchOrderedById()) {
+            Cursor.next(items, size, ItemDto::getId)
+                    .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        }
+        return items;
     }
 
     @PostMapping("/{itemId}/comment")
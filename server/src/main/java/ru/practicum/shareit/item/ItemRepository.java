@@ -2,18 +2,44 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerIdOrderById(Long id, Pageable pageable);
 
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderById(Long ownerId, Long id, Pageable pageable);
+
     List<Item> findAllByRequestId(Long requestId);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
     @Query("select i from Item i where (LOWER(i.name) like LOWER(concat('%', ?1, '%'))" +
-            " or LOWER(i.description) like lower(concat('%', ?1, '%'))) and i.available = true ")
+            " or LOWER(i.description) like lower(concat('%', ?1, '%'))) and i.available = true order by i.id")
     List<Item> search(String text, Pageable pageable);
+
+    @Query("select i from Item i where (LOWER(i.name) like LOWER(concat('%', ?1, '%'))" +
+            " or LOWER(i.description) like lower(concat('%', ?1, '%'))) and i.available = true and i.id > ?2" +
+            " order by i.id")
+    List<Item> searchAfter(String text, long afterId, Pageable pageable);
+
+    @Query(value = "select * from items i where i.is_available = true" +
+            " and (lower(i.name) like concat('%', lower(?1), '%')" +
+            " or lower(i.description) like concat('%', lower(?1), '%'))" +
+            " order by greatest(similarity(lower(i.name), lower(?1))," +
+            " similarity(lower(i.description), lower(?1))) desc, i.id", nativeQuery = true)
+    List<Item> searchByTrigram(String text, Pageable pageable);
 }
 
@@ -2,21 +2,37 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
 
     List<ItemDto> findAllItem(long userId, Integer from, Integer size);
 
+    List<ItemDto> findAllItemAfter(long userId, Cursor cursor, Integer size);
+
     ItemDto findItemById(long userId, long itemId);
 
+    List<ItemDto> findAllItemByIds(Collection<Long> itemIds);
+
+    boolean isItemOwner(long userId, long itemId);
+
+    void lockItem(long itemId);
+
     ItemDto createItem(long userId, ItemDto itemDto);
 
+    List<ItemDto> createItems(long userId, List<ItemDto> itemDtos);
+
     ItemDto patchItem(long userId, long itemId, ItemDto itemDto);
 
     List<ItemDto> searchItem(long userId, String text, Integer from, Integer size);
 
+    List<ItemDto> searchItemAfter(long userId, String text, Cursor cursor, Integer size);
+
+    boolean isSearchOrderedById();
+
     CommentDto createComment(long userId, long itemId, CommentDto commentDto);
 
     List<ItemDto> findAllByRequestId(Long requestId);
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
@@ -19,9 +23,11 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
@@ -29,51 +35,58 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     public List<ItemDto> findAllItem(long userId, Integer from, Integer size) {
         userService.findUserById(userId);
         Pageable pageable = PageRequest.of(((from) / size), size);
-        List<Item> items = itemRepository.findAllByOwnerIdOrderById(userId, pageable);
-        List<ItemDto> itemDtos = new ArrayList<>();
-        Map<Long, List<Comment>> comments =
-                commentRepository.findAll().stream().collect(Collectors.groupingBy(Comment::getItemId));
-        Map<Long, List<Booking>> bookings = bookingRepository.findAllByStatusOrderByStartDesc(Status.APPROVED).stream()
-                .collect(Collectors.groupingBy(Booking::getItemId));
-        List<UserDto> userList =
-                userRepository.findAll().stream().map(UserMapper::toUserDto).collect(Collectors.toList());
-        Map<Long, UserDto> users = new HashMap<>();
-        for (UserDto userDto : userList) {
-            users.put(userDto.getId(), userDto);
+        return toOwnerItemDtos(itemRepository.findAllByOwnerIdOrderById(userId, pageable));
+    }
+
+    @Override
+    public List<ItemDto> findAllItemAfter(long userId, Cursor cursor, Integer size) {
+        userService.findUserById(userId);
+        return toOwnerItemDtos(itemRepository.findAllByOwnerIdAndIdGreaterThanOrderById(userId, cursor.getId(),
+                PageRequest.of(0, size)));
+    }
+
+    private List<ItemDto> toOwnerItemDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
         }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = findCommentsByItemIds(itemIds);
+        List<ItemDto> itemDtos = new ArrayList<>();
         for (Item item : items) {
             ItemDto itemDto = ItemMapper.toItemDto(item);
-            if (bookings.containsKey(item.getId())) {
-                addBooking(itemDto, bookings.get(item.getId()));
-            }
             if (comments.containsKey(item.getId())) {
-                List<CommentDto> commentDtoList = comments.get(item.getId()).stream()
-                        .map(comment -> CommentMapper.toCommentDto(comment,
-                                users.get(comment.getAuthorId()))).collect(Collectors.toList());
-                itemDto.setComments(commentDtoList);
+                itemDto.setComments(comments.get(item.getId()));
             }
             itemDtos.add(itemDto);
         }
+        addBookings(itemDtos);
         return itemDtos;
     }
 
-    private void addBooking(ItemDto itemDto, List<Booking> bookings) {
-        List<Booking> lastBookings = bookings.stream()
-                .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                .collect(Collectors.toList());
-        if (lastBookings.size() != 0) {
-            itemDto.setLastBooking(lastBookings.get(0));
+    private void addBookings(List<ItemDto> itemDtos) {
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryService.findAllByItemIds(itemDtos.stream()
+                .map(ItemDto::getId).collect(Collectors.toList()));
+        Set<Long> bookingIds = summaries.values().stream()
+                .flatMap(summary -> Stream.of(summary.getLastBookingId(), summary.getNextBookingId()))
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        if (bookingIds.isEmpty()) {
+            return;
         }
-        List<Booking> nextBookings = bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                .collect(Collectors.toList());
-        if (nextBookings.size() != 0) {
-            itemDto.setNextBooking(nextBookings.get(nextBookings.size() - 1));
+        Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+        for (ItemDto itemDto : itemDtos) {
+            if (summaries.containsKey(itemDto.getId())) {
+                ItemBookingSummary summary = summaries.get(itemDto.getId());
+                itemDto.setLastBooking(bookings.get(summary.getLastBookingId()));
+                itemDto.setNextBooking(bookings.get(summary.getNextBookingId()));
+            }
         }
     }
 
@@ -85,11 +98,7 @@ public class ItemServiceImpl implements ItemService {
             Item item = optionalItem.get();
             ItemDto itemDto = ItemMapper.toItemDto(item);
             if (item.getOwnerId().equals(userId)) {
-                List<Booking> bookings =
-                        bookingRepository.findAllByItemIdOrderByStartDesc(itemId);
-                if (bookings.size() != 0) {
-                    addBooking(itemDto, bookings);
-                }
+                addBookings(List.of(itemDto));
             }
             itemDto.setComments(commentRepository.findAllByItemId(itemId).stream()
                     .map(comment -> CommentMapper.toCommentDto(comment,
@@ -100,10 +109,55 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    @Override
+    public List<ItemDto> findAllItemByIds(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, List<CommentDto>> comments = findCommentsByItemIds(itemIds);
+        return itemRepository.findAllById(itemIds).stream().map(item -> {
+            ItemDto itemDto = ItemMapper.toItemDto(item);
+            itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+            return itemDto;
+        }).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isItemOwner(long userId, long itemId) {
+        return itemRepository.existsByIdAndOwnerId(itemId, userId);
+    }
+
+    @Override
+    public void lockItem(long itemId) {
+        if (itemRepository.findByIdForUpdate(itemId).isEmpty()) {
+            throw new ItemNotFoundException(String.format("Вещи с id %d не существует", itemId));
+        }
+    }
+
+    private Map<Long, List<CommentDto>> findCommentsByItemIds(Collection<Long> itemIds) {
+        List<Comment> comments = commentRepository.findAllByItemIdIn(itemIds);
+        Set<Long> authorIds = comments.stream().map(Comment::getAuthorId).collect(Collectors.toSet());
+        Map<Long, UserDto> authors = userRepository.findAllById(authorIds).stream().map(UserMapper::toUserDto)
+                .collect(Collectors.toMap(UserDto::getId, userDto -> userDto));
+        return comments.stream().collect(Collectors.groupingBy(Comment::getItemId, Collectors.mapping(comment ->
+                CommentMapper.toCommentDto(comment, authors.get(comment.getAuthorId())), Collectors.toList())));
+    }
+
     @Override
     public ItemDto createItem(long userId, ItemDto itemDto) {
         userService.findUserById(userId);
-        return ItemMapper.toItemDto(itemRepository.save(ItemMapper.toItem(userId, itemDto)));
+        Item item = itemRepository.save(ItemMapper.toItem(userId, itemDto));
+        itemSearchEngine.index(item);
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Override
+    public List<ItemDto> createItems(long userId, List<ItemDto> itemDtos) {
+        userService.findUserById(userId);
+        List<Item> items = itemRepository.saveAll(itemDtos.stream()
+                .map(itemDto -> ItemMapper.toItem(userId, itemDto)).collect(Collectors.toList()));
+        items.forEach(itemSearchEngine::index);
+        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
     }
 
     @Override
@@ -126,7 +180,9 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
@@ -136,11 +192,27 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         } else {
             Pageable pageable = PageRequest.of(((from) / size), size);
-            return itemRepository.search(text, pageable).stream().map(ItemMapper::toItemDto)
+            return itemSearchEngine.search(text, pageable).stream().map(ItemMapper::toItemDto)
                     .collect(Collectors.toList());
         }
     }
 
+    @Override
+    public List<ItemDto> searchItemAfter(long userId, String text, Cursor cursor, Integer size) {
+        userService.findUserById(userId);
+        if (text.isEmpty()) {
+            return Collections.emptyList();
+        } else {
+            return itemSearchEngine.searchAfter(text, cursor.getId(), size).stream().map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public boolean isSearchOrderedById() {
+        return itemSearchEngine.isOrderedById();
+    }
+
     @Override
     public CommentDto createComment(long userId, long itemId, CommentDto commentDto) {
         List<Booking> bookings = bookingRepository.findAllByItemId(itemId)
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+@RequiredArgsConstructor
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, long[]> postings = new TreeMap<>();
+    private final Map<Long, Item> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            itemRepository.findAll().forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(findIds(text)).skip(pageable.getOffset()).limit(pageable.getPageSize())
+                    .mapToObj(items::get).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int size) {
+        lock.readLock().lock();
+        try {
+            long[] ids = findIds(text);
+            int position = Arrays.binarySearch(ids, afterId);
+            int from = position >= 0 ? position + 1 : -position - 1;
+            return Arrays.stream(ids, from, ids.length).limit(size)
+                    .mapToObj(items::get).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Item item) {
+        if (!item.isAvailable()) {
+            return;
+        }
+        Item copy = new Item(item.getId(), item.getName(), item.getDescription(), item.isAvailable(),
+                item.getOwnerId(), item.getRequestId());
+        items.put(copy.getId(), copy);
+        for (String token : tokenize(copy)) {
+            postings.put(token, insert(postings.getOrDefault(token, EMPTY), copy.getId()));
+        }
+    }
+
+    private void remove(long itemId) {
+        Item item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (String token : tokenize(item)) {
+            long[] ids = delete(postings.getOrDefault(token, EMPTY), itemId);
+            if (ids.length == 0) {
+                postings.remove(token);
+            } else {
+                postings.put(token, ids);
+            }
+        }
+    }
+
+    private long[] findIds(String text) {
+        long[] ids = null;
+        for (String token : tokenize(text)) {
+            long[] matches = findByPrefix(token);
+            ids = ids == null ? matches : intersect(ids, matches);
+            if (ids.length == 0) {
+                return EMPTY;
+            }
+        }
+        return ids == null ? EMPTY : ids;
+    }
+
+    private long[] findByPrefix(String prefix) {
+        Collection<long[]> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+        if (matches.isEmpty()) {
+            return EMPTY;
+        }
+        if (matches.size() == 1) {
+            return matches.iterator().next();
+        }
+        int length = 0;
+        for (long[] ids : matches) {
+            length += ids.length;
+        }
+        long[] ids = new long[length];
+        int position = 0;
+        for (long[] posting : matches) {
+            System.arraycopy(posting, 0, ids, position, posting.length);
+            position += posting.length;
+        }
+        Arrays.sort(ids);
+        return distinct(ids);
+    }
+
+    private static Set<String> tokenize(Item item) {
+        Set<String> tokens = tokenize(item.getName());
+        tokens.addAll(tokenize(item.getDescription()));
+        return tokens;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int k = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (k == 0 || sorted[k - 1] != sorted[i]) {
+                sorted[k++] = sorted[i];
+            }
+        }
+        return k == sorted.length ? sorted : Arrays.copyOf(sorted, k);
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    List<Item> searchAfter(String text, long afterId, int size);
+
+    void index(Item item);
+
+    default boolean isOrderedById() {
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public final class TrigramSimilarity {
+    private TrigramSimilarity() {
+    }
+
+    public static double similarity(String first, String second) {
+        Set<String> firstTrigrams = trigrams(first);
+        Set<String> secondTrigrams = trigrams(second);
+        if (firstTrigrams.isEmpty() || secondTrigrams.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String trigram : firstTrigrams) {
+            if (secondTrigrams.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (firstTrigrams.size() + secondTrigrams.size() - common);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> REQUEST_STATEMENTS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] statements = REQUEST_STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        counters.computeIfAbsent(statementType(sql), type -> Counter.builder("shareit.sql.statements")
+                .tag("type", type)
+                .register(meterRegistry)).increment();
+        return sql;
+    }
+
+    void begin() {
+        REQUEST_STATEMENTS.set(new long[1]);
+    }
+
+    long current() {
+        long[] statements = REQUEST_STATEMENTS.get();
+        return statements != null ? statements[0] : 0;
+    }
+
+    long end() {
+        long statements = current();
+        REQUEST_STATEMENTS.remove();
+        return statements;
+    }
+
+    private static String statementType(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        String type = statement.substring(0, end).toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return type;
+            default:
+                return "other";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final LocalDateTime key;
+    private final long id;
+
+    public static Cursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+            String key = decoded.substring(0, separator);
+            return new Cursor(key.isEmpty() ? null : LocalDateTime.parse(key),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new CursorException(String.format("Некорректный курсор: %s", value));
+        }
+    }
+
+    public LocalDateTime getRequiredKey() {
+        if (key == null) {
+            throw new CursorException(String.format("Некорректный курсор: %s", encode()));
+        }
+        return key;
+    }
+
+    public String encode() {
+        String value = (key == null ? "" : key.toString()) + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> Optional<String> next(List<T> page, int size, Function<T, LocalDateTime> key,
+                                            Function<T, Long> id) {
+        if (page.isEmpty() || page.size() < size) {
+            return Optional.empty();
+        }
+        T last = page.get(page.size() - 1);
+        return Optional.of(new Cursor(key.apply(last), id.apply(last)).encode());
+    }
+
+    public static <T> Optional<String> next(List<T> page, int size, Function<T, Long> id) {
+        return next(page, size, element -> null, id);
+    }
+}
@@ -2,8 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -23,15 +25,29 @@ public class ItemRequestController {
     @GetMapping
     public List<ItemRequestDto> findAllItemRequestByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
                                                           @RequestParam(defaultValue = "0") Integer from,
-                                                          @RequestParam(defaultValue = "10") Integer size) {
-        return itemRequestService.findAllItemRequestByOwner(userId, from, size);
+                                                          @RequestParam(defaultValue = "10") Integer size,
+                                                          @RequestParam(required = false) String cursor,
+                                                          HttpServletResponse response) {
+        List<ItemRequestDto> itemRequests = cursor == null
+                ? itemRequestService.findAllItemRequestByOwner(userId, from, size)
+                : itemRequestService.findAllItemRequestByOwnerAfter(userId, Cursor.decode(cursor), size);
+        Cursor.next(itemRequests, size, ItemRequestDto::getCreated, ItemRequestDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return itemRequests;
     }
 
     @GetMapping("/all")
     public List<ItemRequestDto> findAllItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                                    @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = "10") Integer size) {
-        return itemRequestService.findAllItemRequest(userId, from, size);
+                                                   @RequestParam(defaultValue = "10") Integer size,
+                                                   @RequestParam(required = false) String cursor,
+                                                   HttpServletResponse response) {
+        List<ItemRequestDto> itemRequests = cursor == null
+                ? itemRequestService.findAllItemRequest(userId, from, size)
+                : itemRequestService.findAllItemRequestAfter(userId, Cursor.decode(cursor), size);
+        Cursor.next(itemRequests, size, ItemRequestDto::getCreated, ItemRequestDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return itemRequests;
     }
 
     @GetMapping("/{requestId}")
@@ -2,9 +2,23 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(Long requestorId, Pageable pageable);
+
+    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(Long requestorId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestorId = ?1" +
+            " and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findPageByRequestorId(Long requestorId, LocalDateTime cursorCreated, long cursorId,
+                                            Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestorId <> ?1" +
+            " and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findPageByRequestorIdNot(Long requestorId, LocalDateTime cursorCreated, long cursorId,
+                                               Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -9,7 +10,11 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllItemRequestByOwner(Long ownerId, Integer from, Integer size);
 
+    List<ItemRequestDto> findAllItemRequestByOwnerAfter(Long ownerId, Cursor cursor, Integer size);
+
     List<ItemRequestDto> findAllItemRequest(Long userId, Integer from, Integer size);
 
+    List<ItemRequestDto> findAllItemRequestAfter(Long userId, Cursor cursor, Integer size);
+
     ItemRequestDto findItemRequestById(Long userId, Long requestId);
 }
@@ -1,14 +1,15 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserService;
 
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserService userService;
 
@@ -35,29 +37,54 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> findAllItemRequestByOwner(Long ownerId, Integer from, Integer size) {
         userService.findUserById(ownerId);
-        Map<Long, List<ItemDto>> items = itemRepository.findAll().stream().map(ItemMapper::toItemDto)
-                .collect(Collectors.groupingBy(itemDto -> itemDto.getRequestId() == null ? 0 : itemDto.getRequestId()));
         List<ItemRequestDto> itemRequestDtos = itemRequestRepository
-                .findAllByRequestorIdOrderByCreatedDesc(ownerId, PageRequest.of(((from) / size), size)).stream()
+                .findAllByRequestorIdOrderByCreatedDesc(ownerId, PageRequest.of(((from) / size), size,
+                        Sort.by("id").descending())).stream()
                 .map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
-        itemRequestDtos.forEach(itemRequestDto -> itemRequestDto
-                .setItems(items.getOrDefault(itemRequestDto.getId(), Collections.emptyList())));
+        addItems(itemRequestDtos);
+        return itemRequestDtos;
+    }
+
+    @Override
+    public List<ItemRequestDto> findAllItemRequestByOwnerAfter(Long ownerId, Cursor cursor, Integer size) {
+        userService.findUserById(ownerId);
+        List<ItemRequestDto> itemRequestDtos = itemRequestRepository
+                .findPageByRequestorId(ownerId, cursor.getRequiredKey(), cursor.getId(), PageRequest.of(0, size))
+                .stream().map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+        addItems(itemRequestDtos);
         return itemRequestDtos;
     }
 
     @Override
     public List<ItemRequestDto> findAllItemRequest(Long userId, Integer from, Integer size) {
         userService.findUserById(userId);
-        Map<Long, List<ItemDto>> items = itemRepository.findAll().stream().map(ItemMapper::toItemDto)
-                .collect(Collectors.groupingBy(itemDto -> itemDto.getRequestId() == null ? 0 : itemDto.getRequestId()));
-        Pageable pageable = PageRequest.of(((from) / size), size,
-                Sort.by("created").descending());
-        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findAll(pageable).stream()
-                .filter(itemRequest -> !Objects.equals(itemRequest.getRequestorId(), userId))
+        List<ItemRequestDto> itemRequestDtos = itemRequestRepository
+                .findAllByRequestorIdNotOrderByCreatedDesc(userId, PageRequest.of(((from) / size), size,
+                        Sort.by("id").descending())).stream()
                 .map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+        addItems(itemRequestDtos);
+        return itemRequestDtos;
+    }
+
+    @Override
+    public List<ItemRequestDto> findAllItemRequestAfter(Long userId, Cursor cursor, Integer size) {
+        userService.findUserById(userId);
+        List<ItemRequestDto> itemRequestDtos = itemRequestRepository
+                .findPageByRequestorIdNot(userId, cursor.getRequiredKey(), cursor.getId(), PageRequest.of(0, size))
+                .stream().map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+        addItems(itemRequestDtos);
+        return itemRequestDtos;
+    }
+
+    private void addItems(List<ItemRequestDto> itemRequestDtos) {
+        if (itemRequestDtos.isEmpty()) {
+            return;
+        }
+        List<Long> requestIds = itemRequestDtos.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .map(ItemMapper::toItemDto).collect(Collectors.groupingBy(ItemDto::getRequestId));
         itemRequestDtos.forEach(itemRequestDto -> itemRequestDto
                 .setItems(items.getOrDefault(itemRequestDto.getId(), Collections.emptyList())));
-        return itemRequestDtos;
     }
 
     @Override
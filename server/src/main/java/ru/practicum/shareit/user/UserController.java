@@ -2,8 +2,10 @@ package ru.practicum.shareit.user;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -13,9 +15,16 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public List<UserDto> findAllUser(@RequestParam Integer from,
-                                     @RequestParam Integer size) {
-        return userService.findAllUser(from, size);
+    public List<UserDto> findAllUser(@RequestParam(defaultValue = "0") Integer from,
+                                     @RequestParam Integer size,
+                                     @RequestParam(required = false) String cursor,
+                                     HttpServletResponse response) {
+        List<UserDto> users = cursor == null
+                ? userService.findAllUser(from, size)
+                : userService.findAllUserAfter(Cursor.decode(cursor), size);
+        Cursor.next(users, size, UserDto::getId)
+                .ifPresent(next -> response.setHeader(Cursor.NEXT_CURSOR_HEADER, next));
+        return users;
     }
 
     @GetMapping("/{userId}")
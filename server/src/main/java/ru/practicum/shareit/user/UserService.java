@@ -1,14 +1,20 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
     List<UserDto> findAllUser(Integer from, Integer size);
 
+    List<UserDto> findAllUserAfter(Cursor cursor, Integer size);
+
     UserDto findUserById(long userId);
 
+    List<UserDto> findAllUserByIds(Collection<Long> userIds);
+
     UserDto createUser(UserDto userDto);
 
     UserDto patchUser(long id, UserDto userDto);
@@ -1,26 +1,42 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
+    public static final String USERS_CACHE = "users";
+
     private final UserRepository userRepository;
 
     @Override
     public List<UserDto> findAllUser(Integer from, Integer size) {
-        return userRepository.findAll(PageRequest.of(((from) / size), size))
+        return userRepository.findAll(PageRequest.of(((from) / size), size, Sort.by("id")))
+                .stream().map(UserMapper::toUserDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<UserDto> findAllUserAfter(Cursor cursor, Integer size) {
+        return userRepository.findAllByIdGreaterThanOrderById(cursor.getId(), PageRequest.of(0, size))
                 .stream().map(UserMapper::toUserDto).collect(Collectors.toList());
     }
 
     @Override
+    @Cacheable(USERS_CACHE)
     public UserDto findUserById(long userId) {
         Optional<User> user = userRepository.findById(userId);
         if (user.isPresent()) {
@@ -30,12 +46,18 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public List<UserDto> findAllUserByIds(Collection<Long> userIds) {
+        return userRepository.findAllById(userIds).stream().map(UserMapper::toUserDto).collect(Collectors.toList());
+    }
+
     @Override
     public UserDto createUser(UserDto userDto) {
         return UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
     }
 
     @Override
+    @CacheEvict(value = USERS_CACHE, key = "#id")
     public UserDto patchUser(long id, UserDto userDto) {
         UserDto user = findUserById(id);
         if (userDto.getName() != null) {
@@ -49,6 +71,7 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @CacheEvict(value = USERS_CACHE, key = "#id")
     public void deleteUser(long id) {
         userRepository.deleteById(id);
     }
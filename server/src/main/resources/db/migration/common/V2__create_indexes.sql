@@ -0,0 +1,17 @@
+CREATE INDEX IF NOT EXISTS idx_requests_created_date ON requests (created_date);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id_created_date ON requests (requestor_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id_id ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date_end_date ON bookings (item_id, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date ON bookings (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_status_start_date ON bookings (booker_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summaries_refresh_at ON item_booking_summaries (refresh_at);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
@@ -0,0 +1,5 @@
+INSERT INTO item_booking_summaries (item_id, refresh_at)
+SELECT DISTINCT b.item_id, TIMESTAMP '1970-01-01 00:00:00'
+FROM bookings b
+WHERE b.status = 'APPROVED'
+  AND NOT EXISTS (SELECT 1 FROM item_booking_summaries s WHERE s.item_id = b.item_id);
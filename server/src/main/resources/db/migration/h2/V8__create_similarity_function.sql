@@ -0,0 +1 @@
+CREATE ALIAS IF NOT EXISTS SIMILARITY FOR 'ru.practicum.shareit.item.search.TrigramSimilarity.similarity';
@@ -0,0 +1,9 @@
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+SELECT setval('requests_seq', COALESCE((SELECT MAX(id) FROM requests), 0) + 50, false);
+
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 50, false);
+
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 50, false);
+
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 50, false);
@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+public class LegacySchemaMigrationTest {
+    private final FlywayProperties flywayProperties;
+
+    @Test
+    void migrateDatabaseCreatedByLegacySchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(dataSource);
+            jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@user.com')");
+            jdbcTemplate.update("insert into users (name, email) values ('booker', 'booker@user.com')");
+            jdbcTemplate.update("insert into items (name, description, is_available, owner_id)" +
+                    " values ('Дрель', 'Простая дрель', true, 1)");
+            jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status)" +
+                    " values (TIMESTAMP '2020-01-01 10:00:00', TIMESTAMP '2020-01-02 10:00:00', 1, 2, 'APPROVED')");
+
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(flywayProperties.getLocations().stream()
+                            .map(location -> location.replace("{vendor}", "h2")).toArray(String[]::new))
+                    .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                    .baselineVersion(flywayProperties.getBaselineVersion())
+                    .load()
+                    .migrate();
+            jdbcTemplate.update("insert into users (name, email) values ('new', 'new@user.com')");
+
+            assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class), equalTo(3L));
+            assertThat(jdbcTemplate.queryForObject("select item_id from item_booking_summaries", Long.class),
+                    equalTo(1L));
+            assertThat(jdbcTemplate.queryForObject("select id from users where email = 'new@user.com'", Long.class),
+                    greaterThan(2L));
+        } finally {
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.user.UserNotFoundException;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -188,4 +189,37 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end", notNullValue()))
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
     }
+
+    @Test
+    void exportAllBookingByOwner() throws Exception {
+        BookingDto bookingDto1 = new BookingDto();
+        bookingDto1.setId(1L);
+        bookingDto1.setStatus(Status.APPROVED);
+        BookingDto bookingDto2 = new BookingDto();
+        bookingDto2.setId(2L);
+        bookingDto2.setStatus(Status.WAITING);
+        when(bookingService.exportAllBookingByOwner(anyLong()))
+                .thenReturn(consumer -> {
+                    consumer.accept(List.of(bookingDto1));
+                    consumer.accept(List.of(bookingDto2));
+                });
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(bookingDto1) + "\n"
+                        + objectMapper.writeValueAsString(bookingDto2) + "\n"));
+    }
+
+    @Test
+    void exportAllBookingByUnknownOwner() throws Exception {
+        when(bookingService.exportAllBookingByOwner(anyLong()))
+                .thenThrow(new UserNotFoundException("Пользователь с id 100 не найден"));
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 100))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("Пользователь с id 100 не найден")));
+    }
 }
@@ -1,23 +1,37 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.user.UserNotFoundException;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -27,6 +41,7 @@ public class BookingServiceImplTest {
     private final BookingService bookingService;
     private final UserService userService;
     private final ItemService itemService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Test
     void createBooking() {
@@ -49,6 +64,26 @@ public class BookingServiceImplTest {
         assertThat(booking1.getItemId(), equalTo(bookingDtoFromService.getItem().getId()));
     }
 
+    @Test
+    void createOverlappingBooking() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        bookingService.createBooking(userDto2.getId(), makeBooking(itemDtoFromService.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3)));
+
+        BookingException bookingException = assertThrows(BookingException.class,
+                () -> bookingService.createBooking(userDto2.getId(), makeBooking(itemDtoFromService.getId(),
+                        LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4))));
+        BookingDto adjacentBooking = bookingService.createBooking(userDto2.getId(),
+                makeBooking(itemDtoFromService.getId(), LocalDateTime.now().plusDays(4),
+                        LocalDateTime.now().plusDays(5)));
+
+        assertThat(bookingException.getMessage(), containsString("уже забронирована"));
+        assertThat(adjacentBooking.getId(), notNullValue());
+    }
+
     @Test
     void findBookingById() {
         UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
@@ -95,6 +130,26 @@ public class BookingServiceImplTest {
         assertThat(booking1.getItemId(), equalTo(bookingDtoFromService.getItem().getId()));
     }
 
+    @Test
+    void approveRejectedBookingOverlappingNewerBooking() {
+        UserDto owner = userService.createUser(makeUserDto("user", "user@user.com"));
+        ItemDto item = itemService.createItem(owner.getId(), makeItemDto("Дрель", "Простая дрель", true));
+        UserDto booker = userService.createUser(makeUserDto("update", "update@user.com"));
+        BookingDto rejected = bookingService.createBooking(booker.getId(), makeBooking(item.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3)));
+        bookingService.patchBooking(owner.getId(), rejected.getId(), false);
+        BookingDto overlapping = bookingService.createBooking(booker.getId(), makeBooking(item.getId(),
+                LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4)));
+        bookingService.patchBooking(owner.getId(), overlapping.getId(), true);
+
+        BookingException bookingException = assertThrows(BookingException.class,
+                () -> bookingService.patchBooking(owner.getId(), rejected.getId(), true));
+
+        assertThat(bookingException.getMessage(),
+                equalTo(String.format("Вещь с id %d уже забронирована на это время", item.getId())));
+        assertThat(em.find(Booking.class, rejected.getId()).getStatus(), equalTo(Status.REJECTED));
+    }
+
     @Test
     void findAllBookingByUser() {
         UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
@@ -171,6 +226,207 @@ public class BookingServiceImplTest {
         }
     }
 
+    @Test
+    void findAllBookingByStateReturnsFullPage() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+
+        List<Booking> sourceBookings =
+                List.of(makeBooking(itemDtoFromService.getId(), LocalDateTime.now().plusDays(3),
+                                LocalDateTime.now().plusDays(4)),
+                        makeBooking(itemDtoFromService.getId(), LocalDateTime.now().plusDays(1),
+                                LocalDateTime.now().plusDays(2)),
+                        makeBooking(itemDtoFromService.getId(), LocalDateTime.now().minusDays(2),
+                                LocalDateTime.now().minusDays(1)),
+                        makeBooking(itemDtoFromService.getId(), LocalDateTime.now().minusDays(4),
+                                LocalDateTime.now().minusDays(3)));
+
+        for (Booking booking : sourceBookings) {
+            booking.setStatus(Status.WAITING);
+            booking.setBookerId(userDto2.getId());
+            em.persist(booking);
+        }
+        em.flush();
+
+        List<BookingDto> pastByUser = bookingService.findAllBookingByUser(userDto2.getId(), "PAST", 0, 2);
+        List<BookingDto> futureByOwner = bookingService.findAllBookingByOwner(userDto1.getId(), "FUTURE", 0, 2);
+
+        assertThat(pastByUser, hasSize(2));
+        assertThat(pastByUser.get(0).getId(), equalTo(sourceBookings.get(2).getId()));
+        assertThat(pastByUser.get(1).getId(), equalTo(sourceBookings.get(3).getId()));
+        assertThat(futureByOwner, hasSize(2));
+        assertThat(futureByOwner.get(0).getId(), equalTo(sourceBookings.get(0).getId()));
+        assertThat(futureByOwner.get(1).getId(), equalTo(sourceBookings.get(1).getId()));
+    }
+
+    @Test
+    void findAllBookingByOwnerWithManyItems() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        ItemDto lastItem = null;
+        for (int i = 0; i < 101; i++) {
+            lastItem = itemService.createItem(userDto1.getId(), makeItemDto("Дрель " + i, "Простая дрель", true));
+        }
+        Booking booking = makeBooking(lastItem.getId(), LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+        booking.setStatus(Status.WAITING);
+        booking.setBookerId(userDto2.getId());
+        em.persist(booking);
+        em.flush();
+
+        List<BookingDto> targetBookings = bookingService.findAllBookingByOwner(userDto1.getId(), "ALL", 0, 10);
+
+        assertThat(targetBookings, hasSize(1));
+        assertThat(targetBookings.get(0).getItem().getId(), equalTo(lastItem.getId()));
+    }
+
+    @Test
+    void findAllBookingByUserWithFixedQueryCount() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        persistBookingWithComment(itemDtoFromService.getId(), userDto2.getId());
+        userService.findUserById(userDto2.getId());
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<BookingDto> singleBooking = bookingService.findAllBookingByUser(userDto2.getId(), "ALL", 0, 10);
+        long singleBookingQueries = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            ItemDto otherItem = itemService.createItem(userDto1.getId(),
+                    makeItemDto("Отвертка " + i, "Аккумуляторная отвертка", true));
+            persistBookingWithComment(otherItem.getId(), userDto2.getId());
+        }
+        statistics.clear();
+        List<BookingDto> fullPage = bookingService.findAllBookingByUser(userDto2.getId(), "ALL", 0, 10);
+        long fullPageQueries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertThat(singleBooking, hasSize(1));
+        assertThat(fullPage, hasSize(6));
+        assertThat(singleBookingQueries, equalTo(5L));
+        assertThat(fullPageQueries, equalTo(singleBookingQueries));
+    }
+
+    @Test
+    void findAllBookingByUserWithCursor() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        LocalDateTime start = LocalDateTime.now().minusDays(2).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            Booking booking = makeBooking(itemDtoFromService.getId(), i < 3 ? start : start.minusDays(i),
+                    start.plusHours(1));
+            booking.setStatus(Status.WAITING);
+            booking.setBookerId(userDto2.getId());
+            em.persist(booking);
+        }
+        em.flush();
+
+        List<BookingDto> offsetPage = bookingService.findAllBookingByUser(userDto2.getId(), "ALL", 0, 5);
+        List<BookingDto> firstPage = bookingService.findAllBookingByUser(userDto2.getId(), "ALL", 0, 2);
+        BookingDto lastOfFirstPage = firstPage.get(1);
+        List<BookingDto> secondPage = bookingService.findAllBookingByUserAfter(userDto2.getId(), "ALL",
+                new Cursor(lastOfFirstPage.getStart(), lastOfFirstPage.getId()), 2);
+        BookingDto lastOfSecondPage = secondPage.get(1);
+        List<BookingDto> thirdPage = bookingService.findAllBookingByOwnerAfter(userDto1.getId(), "ALL",
+                new Cursor(lastOfSecondPage.getStart(), lastOfSecondPage.getId()), 2);
+
+        assertThat(secondPage, hasSize(2));
+        assertThat(thirdPage, hasSize(1));
+        assertThat(secondPage.get(0).getId(), equalTo(offsetPage.get(2).getId()));
+        assertThat(secondPage.get(1).getId(), equalTo(offsetPage.get(3).getId()));
+        assertThat(thirdPage.get(0).getId(), equalTo(offsetPage.get(4).getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void patchBookingsOfSameItemConcurrently() throws Exception {
+        UserDto owner = userService.createUser(makeUserDto("owner", "concurrent-owner@user.com"));
+        UserDto booker = userService.createUser(makeUserDto("booker", "concurrent-booker@user.com"));
+        ItemDto itemDto = itemService.createItem(owner.getId(), makeItemDto("Дрель", "Простая дрель", true));
+        try {
+            BookingDto first = bookingService.createBooking(booker.getId(), makeBooking(itemDto.getId(),
+                    LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+            BookingDto second = bookingService.createBooking(booker.getId(), makeBooking(itemDto.getId(),
+                    LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4)));
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<BookingDto> firstApproval = executor.submit(() -> {
+                    barrier.await();
+                    return bookingService.patchBooking(owner.getId(), first.getId(), true);
+                });
+                Future<BookingDto> secondApproval = executor.submit(() -> {
+                    barrier.await();
+                    return bookingService.patchBooking(owner.getId(), second.getId(), true);
+                });
+
+                assertThat(firstApproval.get(30, TimeUnit.SECONDS).getStatus(), equalTo(Status.APPROVED));
+                assertThat(secondApproval.get(30, TimeUnit.SECONDS).getStatus(), equalTo(Status.APPROVED));
+            } finally {
+                executor.shutdown();
+            }
+            ItemBookingSummary summary = em.find(ItemBookingSummary.class, itemDto.getId());
+            assertThat(summary.getNextBookingId(), equalTo(first.getId()));
+        } finally {
+            jdbcTemplate.update("delete from item_booking_summaries where item_id = ?", itemDto.getId());
+            jdbcTemplate.update("delete from bookings where item_id = ?", itemDto.getId());
+            jdbcTemplate.update("delete from items where id = ?", itemDto.getId());
+            jdbcTemplate.update("delete from users where id in (?, ?)", owner.getId(), booker.getId());
+        }
+    }
+
+    @Test
+    void exportAllBookingByOwner() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        LocalDateTime start = LocalDateTime.now().minusYears(1).withNano(0);
+        int count = BookingServiceImpl.EXPORT_BATCH_SIZE + 1;
+        for (int i = 0; i < count; i++) {
+            Booking booking = makeBooking(itemDtoFromService.getId(), start.plusHours(i), start.plusHours(i + 1));
+            booking.setStatus(Status.APPROVED);
+            booking.setBookerId(userDto2.getId());
+            em.persist(booking);
+        }
+        em.flush();
+
+        List<List<BookingDto>> batches = new ArrayList<>();
+        bookingService.exportAllBookingByOwner(userDto1.getId()).writeTo(batches::add);
+
+        assertThat(batches, hasSize(2));
+        assertThat(batches.get(0), hasSize(BookingServiceImpl.EXPORT_BATCH_SIZE));
+        assertThat(batches.get(1), hasSize(1));
+        assertThat(batches.get(0).get(0).getStart(), equalTo(start.plusHours(count - 1)));
+        assertThat(batches.get(0).get(0).getItem().getId(), equalTo(itemDtoFromService.getId()));
+        assertThat(batches.get(0).get(0).getBooker().getId(), equalTo(userDto2.getId()));
+        assertThat(batches.get(1).get(0).getStart(), equalTo(start));
+        assertThat(bookingService.findAllBookingByOwner(userDto2.getId(), "ALL", 0, 10), empty());
+    }
+
+    @Test
+    void exportAllBookingByUnknownOwner() {
+        assertThrows(UserNotFoundException.class, () -> bookingService.exportAllBookingByOwner(100L));
+    }
+
+    private void persistBookingWithComment(long itemId, long bookerId) {
+        Booking booking = makeBooking(itemId, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        booking.setStatus(Status.APPROVED);
+        booking.setBookerId(bookerId);
+        em.persist(booking);
+        em.persist(new Comment(null, "Отличная вещь", itemId, bookerId, LocalDateTime.now()));
+        em.flush();
+        em.clear();
+    }
+
     private ItemDto makeItemDto(String name, String description, boolean available) {
         ItemDto itemDto = new ItemDto();
         itemDto.setName(name);
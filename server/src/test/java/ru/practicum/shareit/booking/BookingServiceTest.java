@@ -4,12 +4,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -35,16 +37,30 @@ public class BookingServiceTest {
     @Mock
     BookingRepository mockBookingRepository;
 
+    @Mock
+    ItemBookingSummaryService mockItemBookingSummaryService;
+
+    @Mock
+    PlatformTransactionManager mockTransactionManager;
+
     BookingService bookingService;
 
+    UserDto booker = new UserDto(2L, "booker", "booker@user.com");
+
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingServiceImpl(mockUserService, mockItemService, mockBookingRepository);
+        bookingService = new BookingServiceImpl(mockUserService, mockItemService, mockBookingRepository,
+                mockItemBookingSummaryService, mockTransactionManager);
         Mockito.when(mockUserService.findUserById(Mockito.anyLong()))
                 .thenReturn(new UserDto(1L, "update", "update@user.com"));
         Mockito.when(mockItemService.findItemById(Mockito.anyLong(), Mockito.anyLong()))
                 .thenReturn(new ItemDto(1L, "Дрель", "Простая дрель",
                         true, null, null, Collections.emptyList(), null));
+        Mockito.when(mockUserService.findAllUserByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(booker));
+        Mockito.when(mockItemService.findAllItemByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
+                        true, null, null, Collections.emptyList(), null)));
     }
 
     @Test
@@ -70,9 +86,8 @@ public class BookingServiceTest {
                 LocalDateTime.of(2023, 11, 12, 10, 25),
                 LocalDateTime.of(2024, 11, 12, 10, 25),
                 null, null, 1L);
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
 
         BookingNotFoundException bookingNotFoundException = Assertions.assertThrows(BookingNotFoundException.class,
                 () -> bookingService.createBooking(1L, booking1));
@@ -110,6 +125,23 @@ public class BookingServiceTest {
                 bookingException.getMessage());
     }
 
+    @Test
+    void testOverlapOnCreateBooking() {
+        Booking booking1 = new Booking(null,
+                LocalDateTime.of(2023, 11, 12, 10, 25),
+                LocalDateTime.of(2024, 11, 12, 10, 25),
+                null, null, 1L);
+        Mockito.when(mockBookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Mockito.anyLong(),
+                        Mockito.anyCollection(), Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        BookingException bookingException = Assertions.assertThrows(BookingException.class,
+                () -> bookingService.createBooking(1L, booking1));
+
+        Assertions.assertEquals("Вещь с id 1 уже забронирована на это время", bookingException.getMessage());
+        Mockito.verify(mockBookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
     @Test
     void testOkPatchBookingWithApproved() {
         Booking booking1 = new Booking(1L,
@@ -118,9 +150,10 @@ public class BookingServiceTest {
                 Status.WAITING, 1L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(booking1.getStatus());
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
         Mockito.when(mockBookingRepository.save(Mockito.any(Booking.class)))
                 .thenReturn(booking1);
 
@@ -139,9 +172,10 @@ public class BookingServiceTest {
                 Status.WAITING, 1L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(booking1.getStatus());
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
         Mockito.when(mockBookingRepository.save(Mockito.any(Booking.class)))
                 .thenReturn(booking1);
 
@@ -152,6 +186,30 @@ public class BookingServiceTest {
                 mockItemService.findItemById(1L, 1L)), bookingDto);
     }
 
+    @Test
+    void testPatchBookingLocksItemBeforeRefreshingSummary() {
+        Booking booking1 = new Booking(1L,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                Status.WAITING, 1L, 1L);
+        Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(booking1));
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(booking1.getStatus());
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
+        Mockito.when(mockBookingRepository.save(Mockito.any(Booking.class)))
+                .thenReturn(booking1);
+
+        bookingService.patchBooking(1L, 1L, true);
+
+        InOrder inOrder = Mockito.inOrder(mockItemService, mockBookingRepository, mockItemBookingSummaryService);
+        inOrder.verify(mockItemService).lockItem(1L);
+        inOrder.verify(mockBookingRepository).findStatusById(1L);
+        inOrder.verify(mockBookingRepository).save(booking1);
+        inOrder.verify(mockItemBookingSummaryService).refresh(1L);
+    }
+
     @Test
     void testStatusApprovedYetOnPatchBooking() {
         Booking booking1 = new Booking(1L,
@@ -160,6 +218,10 @@ public class BookingServiceTest {
                 Status.APPROVED, 1L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(booking1.getStatus());
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
 
         BookingException bookingException = Assertions.assertThrows(BookingException.class,
                 () -> bookingService.patchBooking(1L, 1L, true));
@@ -167,6 +229,49 @@ public class BookingServiceTest {
         Assertions.assertEquals("Статус бронирования уже подтвержден", bookingException.getMessage());
     }
 
+    @Test
+    void testStatusApprovedConcurrentlyOnPatchBooking() {
+        Booking booking1 = new Booking(1L,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                Status.WAITING, 1L, 1L);
+        Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(booking1));
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(Status.APPROVED);
+
+        BookingException bookingException = Assertions.assertThrows(BookingException.class,
+                () -> bookingService.patchBooking(1L, 1L, true));
+
+        Assertions.assertEquals("Статус бронирования уже подтвержден", bookingException.getMessage());
+        Mockito.verify(mockBookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
+    @Test
+    void testApproveRejectedBookingOverlappingOtherBooking() {
+        Booking booking1 = new Booking(1L,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                Status.REJECTED, 1L, 1L);
+        Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(booking1));
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(Status.REJECTED);
+        Mockito.when(mockBookingRepository.existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(1L, 1L,
+                        List.of(Status.WAITING, Status.APPROVED), booking1.getEnd(), booking1.getStart()))
+                .thenReturn(true);
+
+        BookingException bookingException = Assertions.assertThrows(BookingException.class,
+                () -> bookingService.patchBooking(1L, 1L, true));
+
+        Assertions.assertEquals("Вещь с id 1 уже забронирована на это время", bookingException.getMessage());
+        Mockito.verify(mockBookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
     @Test
     void testOwnerOnPatchBooking() {
         Booking booking1 = new Booking(1L,
@@ -175,6 +280,8 @@ public class BookingServiceTest {
                 Status.WAITING, 1L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
+        Mockito.when(mockBookingRepository.findStatusById(Mockito.anyLong()))
+                .thenReturn(booking1.getStatus());
 
         BookingNotFoundException bookingNotFoundException = Assertions.assertThrows(BookingNotFoundException.class,
                 () -> bookingService.patchBooking(1L, 1L, true));
@@ -190,9 +297,8 @@ public class BookingServiceTest {
                 Status.WAITING, 1L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(true);
 
         BookingDto bookingDto = bookingService.findBookingById(1L, 1L);
 
@@ -219,9 +325,8 @@ public class BookingServiceTest {
                 Status.WAITING, 2L, 1L);
         Mockito.when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(booking1));
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(2L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
+        Mockito.when(mockItemService.isItemOwner(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(false);
 
         BookingNotFoundException bookingNotFoundException = Assertions.assertThrows(BookingNotFoundException.class,
                 () -> bookingService.findBookingById(1L, 1L));
@@ -246,7 +351,7 @@ public class BookingServiceTest {
                         .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(bookings);
         List<BookingDto> bookingDtoList = bookings.stream()
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -266,12 +371,12 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.REJECTED, 2L, 1L);
-        List<Booking> bookings = List.of(booking1, booking2, booking3);
         Mockito.when(mockBookingRepository
-                        .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(),Mockito.any(Pageable.class)))
-                .thenReturn(bookings);
+                        .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.anyLong(), Mockito.eq(Status.WAITING),
+                                Mockito.any(Pageable.class)))
+                .thenReturn(List.of(booking1, booking2));
         List<BookingDto> bookingDtoList = Stream.of(booking1, booking2)
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -291,12 +396,12 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.REJECTED, 2L, 1L);
-        List<Booking> bookings = List.of(booking1, booking2, booking3);
         Mockito.when(mockBookingRepository
-                        .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(bookings);
+                        .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.anyLong(), Mockito.eq(Status.REJECTED),
+                                Mockito.any(Pageable.class)))
+                .thenReturn(List.of(booking3));
         List<BookingDto> bookingDtoList = Stream.of(booking3)
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -316,12 +421,12 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.REJECTED, 2L, 1L);
-        List<Booking> bookings = List.of(booking1, booking2, booking3);
         Mockito.when(mockBookingRepository
-                        .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(bookings);
+                        .findAllByBookerIdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
+                                Mockito.any(Pageable.class)))
+                .thenReturn(List.of(booking1));
         List<BookingDto> bookingDtoList = Stream.of(booking1)
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -341,12 +446,12 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.REJECTED, 2L, 1L);
-        List<Booking> bookings = List.of(booking1, booking2, booking3);
         Mockito.when(mockBookingRepository
-                        .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(bookings);
+                        .findAllByBookerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
+                                Mockito.any(Pageable.class)))
+                .thenReturn(List.of(booking2, booking3));
         List<BookingDto> bookingDtoList = Stream.of(booking2, booking3)
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -366,12 +471,13 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.REJECTED, 2L, 1L);
-        List<Booking> bookings = List.of(booking1, booking2, booking3);
         Mockito.when(mockBookingRepository
-                        .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(bookings);
+                        .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.anyLong(),
+                                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
+                                Mockito.any(Pageable.class)))
+                .thenReturn(List.of(booking2));
         List<BookingDto> bookingDtoList = Stream.of(booking2)
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -418,7 +524,7 @@ public class BookingServiceTest {
                         .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(bookings);
         List<BookingDto> bookingDtoList = bookings.stream()
-                .map(booking -> BookingMapper.toBookingDto(booking, mockUserService.findUserById(1L),
+                .map(booking -> BookingMapper.toBookingDto(booking, booker,
                         mockItemService.findItemById(1L, 1L))).collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 = bookingService
@@ -429,9 +535,6 @@ public class BookingServiceTest {
 
     @Test
     void testOkFindAllBookingByUserByOwnerStateAll() {
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
         Booking booking1 = new Booking(1L, LocalDateTime.of(2023, 11, 12, 10, 25),
                 LocalDateTime.of(2024, 11, 12, 10, 25),
                 Status.WAITING, 2L, 1L);
@@ -442,10 +545,10 @@ public class BookingServiceTest {
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.WAITING, 2L, 1L);
         List<Booking> bookings = List.of(booking1, booking2, booking3);
-        Mockito.when(mockBookingRepository.findAll())
+        Mockito.when(mockBookingRepository.findAllByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(bookings);
         List<BookingDto> bookingDtoList = bookings.stream().map(booking -> BookingMapper.toBookingDto(booking,
-                        mockUserService.findUserById(1L), mockItemService.findItemById(1L, 1L)))
+                        booker, mockItemService.findItemById(1L, 1L)))
                 .collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 =
@@ -456,9 +559,6 @@ public class BookingServiceTest {
 
     @Test
     void testOkFindAllBookingByUserByOwnerStateAllWithPageable() {
-        Mockito.when(mockItemService.findAllItem(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new ItemDto(1L, "Дрель", "Простая дрель",
-                        true, null, null, Collections.emptyList(), null)));
         Booking booking1 = new Booking(1L, LocalDateTime.of(2023, 11, 12, 10, 25),
                 LocalDateTime.of(2024, 11, 12, 10, 25),
                 Status.WAITING, 2L, 1L);
@@ -469,11 +569,10 @@ public class BookingServiceTest {
                 LocalDateTime.of(2016, 11, 12, 10, 25),
                 Status.WAITING, 2L, 1L);
         List<Booking> bookings = List.of(booking1, booking2, booking3);
-        Mockito.when(mockBookingRepository
-                        .findAll())
+        Mockito.when(mockBookingRepository.findAllByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(bookings);
         List<BookingDto> bookingDtoList = bookings.stream().map(booking -> BookingMapper.toBookingDto(booking,
-                        mockUserService.findUserById(1L), mockItemService.findItemById(1L, 1L)))
+                        booker, mockItemService.findItemById(1L, 1L)))
                 .collect(Collectors.toList());
 
         List<BookingDto> bookingDtoList1 =
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ItemBookingSummaryServiceTest {
+    @Mock
+    ItemBookingSummaryRepository mockItemBookingSummaryRepository;
+
+    @Mock
+    BookingRepository mockBookingRepository;
+
+    ItemBookingSummaryService itemBookingSummaryService;
+
+    Booking lastBooking = new Booking(1L, LocalDateTime.now().minusDays(3),
+            LocalDateTime.now().minusDays(2), Status.APPROVED, 2L, 1L);
+
+    Booking currentBooking = new Booking(2L, LocalDateTime.now().minusDays(1),
+            LocalDateTime.now().plusDays(1), Status.APPROVED, 2L, 1L);
+
+    Booking nextBooking = new Booking(3L, LocalDateTime.now().plusDays(2),
+            LocalDateTime.now().plusDays(3), Status.APPROVED, 2L, 1L);
+
+    @BeforeEach
+    void beforeEach() {
+        itemBookingSummaryService = new ItemBookingSummaryServiceImpl(mockItemBookingSummaryRepository,
+                mockBookingRepository);
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByStartDesc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.of(lastBooking));
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.of(nextBooking));
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndEndAfterOrderByEndAsc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.of(currentBooking));
+        Mockito.when(mockItemBookingSummaryRepository.save(Mockito.any(ItemBookingSummary.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testOkRefresh() {
+        ItemBookingSummary summary = itemBookingSummaryService.refresh(1L);
+
+        Assertions.assertEquals(1L, summary.getItemId());
+        Assertions.assertEquals(lastBooking.getId(), summary.getLastBookingId());
+        Assertions.assertEquals(nextBooking.getId(), summary.getNextBookingId());
+        Assertions.assertEquals(currentBooking.getEnd(), summary.getRefreshAt());
+    }
+
+    @Test
+    void testOkRefreshWithoutBookings() {
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByStartDesc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(mockBookingRepository.findFirstByItemIdAndStatusAndEndAfterOrderByEndAsc(
+                        Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(Optional.empty());
+
+        ItemBookingSummary summary = itemBookingSummaryService.refresh(1L);
+
+        Assertions.assertNull(summary.getLastBookingId());
+        Assertions.assertNull(summary.getNextBookingId());
+        Assertions.assertNull(summary.getRefreshAt());
+    }
+
+    @Test
+    void testOkFindAllByItemIdsRefreshesExpired() {
+        ItemBookingSummary actual = new ItemBookingSummary(1L, 1L, 3L, LocalDateTime.now().plusDays(1));
+        ItemBookingSummary expired = new ItemBookingSummary(2L, null, 1L, LocalDateTime.now().minusDays(2));
+        Mockito.when(mockItemBookingSummaryRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(List.of(actual, expired));
+
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryService.findAllByItemIds(List.of(1L, 2L));
+
+        Assertions.assertSame(actual, summaries.get(1L));
+        Assertions.assertEquals(lastBooking.getId(), summaries.get(2L).getLastBookingId());
+        Assertions.assertEquals(nextBooking.getId(), summaries.get(2L).getNextBookingId());
+        Mockito.verify(mockItemBookingSummaryRepository, Mockito.times(1)).save(Mockito.any());
+    }
+
+    @Test
+    void testOkRefreshExpired() {
+        Mockito.when(mockItemBookingSummaryRepository.findAllByRefreshAtLessThanEqual(Mockito.any()))
+                .thenReturn(List.of(new ItemBookingSummary(1L, null, 1L, LocalDateTime.now().minusDays(2))));
+
+        itemBookingSummaryService.refreshExpired();
+
+        Mockito.verify(mockItemBookingSummaryRepository).save(Mockito.argThat(summary ->
+                summary.getItemId() == 1L && lastBooking.getId().equals(summary.getLastBookingId())));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserNotFoundException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+public class ItemBulkImporterTest {
+    private final EntityManager em;
+    private final ItemBulkImporter itemBulkImporter;
+    private final UserService userService;
+
+    @Test
+    void importItemsFromJsonArray() throws IOException {
+        UserDto userDto = userService.createUser(makeUserDto("user", "user@user.com"));
+        StringBuilder body = new StringBuilder("[");
+        int count = ItemBulkImporter.BATCH_SIZE + 1;
+        for (int i = 0; i < count; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Дрель ").append(i).append("\",\"description\":\"Простая дрель\",\"available\":true}");
+        }
+        body.append("]");
+
+        ItemBulkResultDto result = itemBulkImporter.importItems(userDto.getId(), toStream(body.toString()));
+
+        List<Item> items = em.createQuery("SELECT i FROM Item i WHERE i.ownerId = :ownerId", Item.class)
+                .setParameter("ownerId", userDto.getId()).getResultList();
+        assertThat(result.getCreated(), equalTo((long) count));
+        assertThat(result.getErrors(), empty());
+        assertThat(items, hasSize(count));
+    }
+
+    @Test
+    void importItemsFromNdjsonReportsInvalidRows() throws IOException {
+        UserDto userDto = userService.createUser(makeUserDto("user", "user@user.com"));
+        String body = "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}\n"
+                + "{\"name\":\"\",\"description\":\"Без названия\",\"available\":true}\n"
+                + "{\"name\":\"Пила\",\"description\":\"Ручная пила\",\"available\":\"может быть\"}\n"
+                + "{\"name\":\"Молоток\",\"description\":\"Большой молоток\",\"available\":false}\n";
+
+        ItemBulkResultDto result = itemBulkImporter.importItems(userDto.getId(), toStream(body));
+
+        List<Item> items = em.createQuery("SELECT i FROM Item i WHERE i.ownerId = :ownerId ORDER BY i.id", Item.class)
+                .setParameter("ownerId", userDto.getId()).getResultList();
+        assertThat(result.getCreated(), equalTo(2L));
+        assertThat(result.getErrors(), hasSize(2));
+        assertThat(result.getErrors().get(0).getRow(), equalTo(1L));
+        assertThat(result.getErrors().get(1).getRow(), equalTo(2L));
+        assertThat(items.get(0).getName(), equalTo("Дрель"));
+        assertThat(items.get(1).getName(), equalTo("Молоток"));
+    }
+
+    @Test
+    void importItemsStopsOnMalformedJson() throws IOException {
+        UserDto userDto = userService.createUser(makeUserDto("user", "user@user.com"));
+        String body = "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}\n{\"name\":";
+
+        ItemBulkResultDto result = itemBulkImporter.importItems(userDto.getId(), toStream(body));
+
+        assertThat(result.getCreated(), equalTo(1L));
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getRow(), equalTo(1L));
+    }
+
+    @Test
+    void importItemsWithUnknownUser() {
+        assertThrows(UserNotFoundException.class, () -> itemBulkImporter.importItems(100L, toStream("[]")));
+    }
+
+    private InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UserDto makeUserDto(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userDto;
+    }
+}
@@ -8,8 +8,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +29,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemBulkImporter itemBulkImporter;
     @Autowired
     ObjectMapper objectMapper;
     @Autowired
@@ -103,6 +109,24 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void createItems() throws Exception {
+        ItemBulkResultDto resultDto = new ItemBulkResultDto(1, List.of(new ItemBulkErrorDto(1, "Ошибка")));
+        when(itemBulkImporter.importItems(anyLong(), any(InputStream.class)))
+                .thenReturn(resultDto);
+
+        mvc.perform(post("/items/bulk")
+                        .content("{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}\n{}")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(1)))
+                .andExpect(jsonPath("$.errors[0].error", is("Ошибка")));
+    }
+
     @Test
     void patchItem() throws Exception {
         ItemDto itemDto = new ItemDto(1L, "Дрель",
@@ -143,6 +167,22 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void searchItemRankedBySimilarityHasNoNextCursor() throws Exception {
+        ItemDto itemDto = new ItemDto(1L, "Дрель",
+                "Простая дрель", true, null, null, null, null);
+        when(itemService.searchItem(anyLong(), anyString(), any(), any()))
+                .thenReturn(List.of(itemDto));
+        when(itemService.isSearchOrderedById()).thenReturn(false);
+
+        mvc.perform(get("/items/search?from=0&size=1").param("text", "дрель")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(header().doesNotExist(Cursor.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void createComment() throws Exception {
         CommentDto commentDto = new CommentDto(1L, "text", "Maksim",
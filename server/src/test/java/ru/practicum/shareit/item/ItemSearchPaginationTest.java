@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ItemSearchPaginationTest {
+    private final MockMvc mvc;
+    private final ObjectMapper objectMapper;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    @Test
+    void walkSearchFromOffsetPageByNextCursor() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setName("user");
+        userDto.setEmail("user@user.com");
+        long userId = userService.createUser(userDto).getId();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(itemService.createItem(userId,
+                    new ItemDto(null, "Дрель " + i, "Простая дрель", true, null, null, null, null)).getId());
+        }
+        itemService.createItem(userId, new ItemDto(null, "Отвертка", "Аккумуляторная отвертка", true,
+                null, null, null, null));
+
+        List<Long> found = new ArrayList<>();
+        MockHttpServletResponse response = search(get("/items/search").param("from", "0"), userId, found);
+        while (response.getHeader(Cursor.NEXT_CURSOR_HEADER) != null) {
+            response = search(get("/items/search").param("cursor", response.getHeader(Cursor.NEXT_CURSOR_HEADER)),
+                    userId, found);
+        }
+
+        assertThat(found, equalTo(expected));
+    }
+
+    private MockHttpServletResponse search(MockHttpServletRequestBuilder request, long userId,
+                                           List<Long> found) throws Exception {
+        MockHttpServletResponse response = mvc.perform(request.param("text", "дрель").param("size", "3")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        for (JsonNode item : objectMapper.readTree(response.getContentAsString(StandardCharsets.UTF_8))) {
+            found.add(item.get("id").asLong());
+        }
+        return response;
+    }
+}
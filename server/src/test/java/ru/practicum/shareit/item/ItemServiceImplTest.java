@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -133,6 +134,24 @@ public class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void findAllItemWithApprovedBooking() {
+        UserDto userDto1 = userService.createUser(makeUserDto("user", "user@user.com"));
+        ItemDto itemDtoFromService = itemService.createItem(userDto1.getId(),
+                makeItemDto("Дрель", "Простая дрель", true));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        BookingDto bookingDto = bookingService.createBooking(userDto2.getId(),
+                makeBooking(itemDtoFromService.getId(), LocalDateTime.now().plusDays(1),
+                        LocalDateTime.now().plusDays(2)));
+        bookingService.patchBooking(userDto1.getId(), bookingDto.getId(), true);
+
+        List<ItemDto> targetItems = itemService.findAllItem(userDto1.getId(), 0, 10);
+
+        assertThat(targetItems, hasSize(1));
+        assertThat(targetItems.get(0).getLastBooking(), nullValue());
+        assertThat(targetItems.get(0).getNextBooking().getId(), equalTo(bookingDto.getId()));
+    }
+
     @Test
     void findAllByRequestId() {
         UserDto userDto = userService.createUser(makeUserDto("user", "user@user.com"));
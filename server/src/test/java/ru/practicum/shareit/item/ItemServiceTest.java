@@ -12,11 +12,15 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -24,7 +28,9 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -45,12 +51,16 @@ public class ItemServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    ItemBookingSummaryService mockItemBookingSummaryService;
+
     ItemService itemService;
 
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(mockCommentRepository,
-                mockBookingRepository, mockUserService, mockItemRepository, userRepository);
+                mockBookingRepository, mockUserService, mockItemRepository, userRepository,
+                mockItemBookingSummaryService, new LikeItemSearchEngine(mockItemRepository));
         Mockito.when(mockUserService.findUserById(Mockito.anyLong()))
                 .thenReturn(new UserDto(1L, "update", "update@user.com"));
     }
@@ -70,20 +80,18 @@ public class ItemServiceTest {
     @Test
     void testOkFindAllItemWithBooking() {
         Item item1 = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
-        Booking booking1 = new Booking(1L, LocalDateTime.of(2023, 11, 12, 10, 25),
-                LocalDateTime.of(2024, 11, 12, 10, 25),
+        Booking booking1 = new Booking(1L, LocalDateTime.now().plusYears(1),
+                LocalDateTime.now().plusYears(2),
                 Status.WAITING, 2L, 1L);
         Booking booking2 = new Booking(2L, LocalDateTime.of(2017, 11, 12, 10, 25),
                 LocalDateTime.of(2018, 11, 12, 10, 25),
                 Status.WAITING, 2L, 1L);
-        Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
-                LocalDateTime.of(2016, 11, 12, 10, 25),
-                Status.WAITING, 2L, 1L);
         Mockito.when(mockItemRepository.findAllByOwnerIdOrderById(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(item1));
-        Mockito.when(mockBookingRepository
-                        .findAllByStatusOrderByStartDesc(Mockito.any()))
-                .thenReturn(List.of(booking1, booking2, booking3));
+        Mockito.when(mockItemBookingSummaryService.findAllByItemIds(Mockito.anyCollection()))
+                .thenReturn(Map.of(1L, new ItemBookingSummary(1L, 2L, 1L, booking1.getStart())));
+        Mockito.when(mockBookingRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(List.of(booking1, booking2));
         List<ItemDto> itemDtoList1 = List.of(ItemMapper.toItemDto(item1));
         itemDtoList1.forEach(itemDto -> itemDto.setLastBooking(booking2));
         itemDtoList1.forEach(itemDto -> itemDto.setNextBooking(booking1));
@@ -106,6 +114,34 @@ public class ItemServiceTest {
         Assertions.assertEquals(itemDto, itemDto1);
     }
 
+    @Test
+    void testOkFindAllItemByIds() {
+        Item item1 = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+        Comment comment = new Comment(1L, "text", 1L, 2L,
+                LocalDateTime.of(2016, 11, 12, 10, 25));
+        Mockito.when(mockItemRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(List.of(item1));
+        Mockito.when(mockCommentRepository.findAllByItemIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(comment));
+        Mockito.when(userRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(List.of(new User(2L, "user", "user@user.com")));
+        ItemDto itemDto = ItemMapper.toItemDto(item1);
+        itemDto.setComments(List.of(CommentMapper.toCommentDto(comment, new UserDto(2L, "user", "user@user.com"))));
+
+        List<ItemDto> itemDtoList = itemService.findAllItemByIds(List.of(1L));
+
+        Assertions.assertEquals(List.of(itemDto), itemDtoList);
+    }
+
+    @Test
+    void testOkIsItemOwner() {
+        Mockito.when(mockItemRepository.existsByIdAndOwnerId(1L, 2L))
+                .thenReturn(true);
+
+        Assertions.assertTrue(itemService.isItemOwner(2L, 1L));
+        Assertions.assertFalse(itemService.isItemOwner(1L, 1L));
+    }
+
     @Test
     void testItemNotFound() {
         Mockito.when(mockItemRepository.findById(Mockito.anyLong()))
@@ -120,30 +156,41 @@ public class ItemServiceTest {
     @Test
     void testOkFindItemByIdWithBooking() {
         Item item1 = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
-        Booking booking1 = new Booking(1L, LocalDateTime.of(2023, 11, 12, 10, 25),
-                LocalDateTime.of(2024, 11, 12, 10, 25),
-                Status.WAITING, 2L, 1L);
+        Booking booking1 = new Booking(1L, LocalDateTime.now().plusYears(1),
+                LocalDateTime.now().plusYears(2),
+                Status.APPROVED, 2L, 1L);
         Booking booking2 = new Booking(2L, LocalDateTime.of(2017, 11, 12, 10, 25),
                 LocalDateTime.of(2018, 11, 12, 10, 25),
-                Status.WAITING, 2L, 1L);
-        Booking booking3 = new Booking(3L, LocalDateTime.of(2015, 11, 12, 10, 25),
-                LocalDateTime.of(2016, 11, 12, 10, 25),
-                Status.WAITING, 2L, 1L);
+                Status.APPROVED, 2L, 1L);
         ItemDto itemDto = ItemMapper.toItemDto(item1);
         itemDto.setComments(Collections.emptyList());
         itemDto.setLastBooking(booking2);
         itemDto.setNextBooking(booking1);
         Mockito.when(mockItemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(item1));
-        Mockito.when(mockBookingRepository
-                        .findAllByItemIdOrderByStartDesc(Mockito.anyLong()))
-                .thenReturn(List.of(booking1, booking2, booking3));
+        Mockito.when(mockItemBookingSummaryService.findAllByItemIds(List.of(1L)))
+                .thenReturn(Map.of(1L, new ItemBookingSummary(1L, 2L, 1L, booking1.getStart())));
+        Mockito.when(mockBookingRepository.findAllById(Set.of(2L, 1L)))
+                .thenReturn(List.of(booking1, booking2));
 
         ItemDto itemDto1 = itemService.findItemById(1L, 1L);
 
         Assertions.assertEquals(itemDto, itemDto1);
     }
 
+    @Test
+    void testOkFindItemByIdByNotOwnerWithoutBooking() {
+        Item item1 = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+        Mockito.when(mockItemRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(item1));
+
+        ItemDto itemDto = itemService.findItemById(2L, 1L);
+
+        Assertions.assertNull(itemDto.getLastBooking());
+        Assertions.assertNull(itemDto.getNextBooking());
+        Mockito.verifyNoInteractions(mockItemBookingSummaryService, mockBookingRepository);
+    }
+
     @Test
     void testOkCreateItem() {
         Item item1 = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
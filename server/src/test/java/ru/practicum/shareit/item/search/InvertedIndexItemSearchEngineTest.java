@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+public class InvertedIndexItemSearchEngineTest {
+
+    @Mock
+    ItemRepository mockItemRepository;
+
+    ItemSearchEngine itemSearchEngine;
+
+    @BeforeEach
+    void beforeEach() {
+        InvertedIndexItemSearchEngine engine = new InvertedIndexItemSearchEngine(mockItemRepository);
+        Mockito.when(mockItemRepository.findAll()).thenReturn(List.of(
+                new Item(1L, "Дрель", "Простая дрель", true, 1L, null),
+                new Item(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true, 1L, null),
+                new Item(3L, "Отвертка", "Аккумуляторная отвертка", false, 1L, null),
+                new Item(4L, "Клей Момент", "Тюбик суперклея марки Момент", true, 2L, null),
+                new Item(5L, "Hammer", "Steel claw hammer", true, 2L, null)));
+        engine.rebuild();
+        itemSearchEngine = engine;
+    }
+
+    private List<Long> search(String text) {
+        return itemSearchEngine.search(text, PageRequest.of(0, 10)).stream()
+                .map(Item::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testOkSearchIgnoresCase() {
+        Assertions.assertEquals(List.of(1L, 2L), search("ДРЕЛЬ"));
+        Assertions.assertEquals(List.of(5L), search("hAmMeR"));
+    }
+
+    @Test
+    void testOkSearchByPrefix() {
+        Assertions.assertEquals(List.of(2L), search("аккум"));
+        Assertions.assertEquals(List.of(4L), search("суперк"));
+    }
+
+    @Test
+    void testOkSearchBySingleCharacterPrefix() {
+        Assertions.assertEquals(List.of(2L), search("а"));
+        Assertions.assertEquals(List.of(4L), search("м"));
+        Assertions.assertEquals(List.of(1L, 2L), search("д"));
+    }
+
+    @Test
+    void testOkSearchMatchesAllTokens() {
+        Assertions.assertEquals(List.of(2L), search("дрель аккумулятор"));
+        Assertions.assertEquals(List.of(), search("дрель молоток"));
+    }
+
+    @Test
+    void testOkSearchSkipsUnavailable() {
+        Assertions.assertEquals(List.of(), search("отвертка"));
+    }
+
+    @Test
+    void testOkSearchWithPage() {
+        List<Item> items = itemSearchEngine.search("дрель", PageRequest.of(1, 1));
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals(2L, items.get(0).getId());
+    }
+
+    @Test
+    void testOkIndexNewItem() {
+        itemSearchEngine.index(new Item(6L, "Перфоратор", "Мощный перфоратор", true, 1L, null));
+        Assertions.assertEquals(List.of(6L), search("перф"));
+    }
+
+    @Test
+    void testOkIndexPatchedItem() {
+        itemSearchEngine.index(new Item(1L, "Шуруповерт", "Простой шуруповерт", true, 1L, null));
+        Assertions.assertEquals(List.of(2L), search("дрель"));
+        Assertions.assertEquals(List.of(1L), search("шуруп"));
+
+        itemSearchEngine.index(new Item(3L, "Отвертка", "Аккумуляторная отвертка", true, 1L, null));
+        Assertions.assertEquals(List.of(3L), search("отвертка"));
+
+        itemSearchEngine.index(new Item(5L, "Hammer", "Steel claw hammer", false, 2L, null));
+        Assertions.assertEquals(List.of(), search("hammer"));
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Transactional
+@SpringBootTest(properties = "shareit.search.engine=trigram")
+public class TrigramItemSearchEngineTest {
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemSearchEngine itemSearchEngine;
+
+    long userId;
+    long drill;
+    long cordlessDrill;
+    long drillBits;
+
+    @BeforeEach
+    void beforeEach() {
+        userId = userService.createUser(new UserDto(null, "user", "user@user.com")).getId();
+        drillBits = createItem("Набор сверл", "Сверла для дрели по металлу", true);
+        cordlessDrill = createItem("Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true);
+        drill = createItem("Дрель", "Простая дрель", true);
+        createItem("Дрель ударная", "Сломанная дрель", false);
+        createItem("Hammer", "Steel claw hammer", true);
+    }
+
+    @Test
+    void testOkTrigramEngineIsSelected() {
+        Assertions.assertTrue(itemSearchEngine instanceof TrigramItemSearchEngine);
+        Assertions.assertFalse(itemService.isSearchOrderedById());
+    }
+
+    @Test
+    void testOkSearchRanksBySimilarity() {
+        Assertions.assertEquals(List.of(drill, cordlessDrill, drillBits), search("ДРЕЛ", 0, 10));
+    }
+
+    @Test
+    void testOkSearchWithPage() {
+        Assertions.assertEquals(List.of(drill, cordlessDrill), search("дрел", 0, 2));
+        Assertions.assertEquals(List.of(drillBits), search("дрел", 2, 2));
+    }
+
+    @Test
+    void testOkSearchWithoutMatches() {
+        Assertions.assertEquals(List.of(), search("перфоратор", 0, 10));
+    }
+
+    private long createItem(String name, String description, boolean available) {
+        return itemService.createItem(userId,
+                new ItemDto(null, name, description, available, null, null, null, null)).getId();
+    }
+
+    private List<Long> search(String text, int from, int size) {
+        return itemService.searchItem(userId, text, from, size).stream()
+                .map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class TrigramSimilarityTest {
+
+    @Test
+    void testOkTrigramsOfPaddedWords() {
+        Assertions.assertEquals(Set.of("  c", " ca", "cat", "at "), TrigramSimilarity.trigrams("Cat"));
+        Assertions.assertEquals(Set.of("  a", " a ", "  b", " b "), TrigramSimilarity.trigrams("a, b"));
+    }
+
+    @Test
+    void testOkSimilarityMatchesPgTrgm() {
+        Assertions.assertEquals(4.0 / 11, TrigramSimilarity.similarity("word", "two words"), 1e-6);
+        Assertions.assertEquals(1.0, TrigramSimilarity.similarity("Дрель", "дрель"), 1e-6);
+        Assertions.assertEquals(0.0, TrigramSimilarity.similarity("дрель", "hammer"), 1e-6);
+    }
+
+    @Test
+    void testOkSimilarityOfEmptyText() {
+        Assertions.assertEquals(0.0, TrigramSimilarity.similarity(null, "дрель"), 1e-6);
+        Assertions.assertEquals(0.0, TrigramSimilarity.similarity("", ""), 1e-6);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlStatementMetricsTest {
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+
+    @Test
+    void countSqlStatementsPerRequest() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setName("user");
+        userDto.setEmail("user@user.com");
+        userService.createUser(userDto);
+        long requestsBefore = requestSummaries().summary() == null ? 0 : requestSummaries().summary().count();
+        long timedCallsBefore = serviceTimers().timer() == null ? 0 : serviceTimers().timer().count();
+
+        String statements = mvc.perform(get("/users").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementMetricsFilter.SQL_STATEMENTS_HEADER))
+                .andReturn().getResponse().getHeader(SqlStatementMetricsFilter.SQL_STATEMENTS_HEADER);
+
+        assertThat(Long.parseLong(statements), greaterThan(0L));
+        assertThat(requestSummaries().summary().count(), equalTo(requestsBefore + 1));
+        assertThat(requestSummaries().summary().max(), greaterThan(0.0));
+        assertThat(serviceTimers().timer().count(), equalTo(timedCallsBefore + 1));
+        assertThat(meterRegistry.get("shareit.sql.statements").tag("type", "select").counter().count(),
+                greaterThan(0.0));
+    }
+
+    private Search requestSummaries() {
+        return meterRegistry.find("shareit.http.sql.statements").tag("method", "GET").tag("uri", "/users");
+    }
+
+    private Search serviceTimers() {
+        return meterRegistry.find("shareit.service").tag("method", "findAllUser");
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class CursorTest {
+
+    @Test
+    void testOkEncodeAndDecode() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 11, 12, 10, 25, 1, 123456000), 42L);
+
+        Assertions.assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testOkEncodeAndDecodeWithoutKey() {
+        Cursor cursor = new Cursor(null, 7L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        Assertions.assertEquals(cursor, decoded);
+        Assertions.assertThrows(CursorException.class, decoded::getRequiredKey);
+    }
+
+    @Test
+    void testDecodeInvalidCursor() {
+        CursorException cursorException = Assertions.assertThrows(CursorException.class,
+                () -> Cursor.decode("не курсор"));
+
+        Assertions.assertEquals("Некорректный курсор: не курсор", cursorException.getMessage());
+    }
+
+    @Test
+    void testOkNext() {
+        Optional<String> next = Cursor.next(List.of(1L, 2L, 3L), 3, Function.identity());
+
+        Assertions.assertEquals(Optional.of(new Cursor(null, 3L).encode()), next);
+        Assertions.assertEquals(Optional.empty(), Cursor.next(List.of(1L, 2L), 3, Function.identity()));
+        Assertions.assertEquals(Optional.empty(), Cursor.next(List.<Long>of(), 3, Function.identity()));
+    }
+}
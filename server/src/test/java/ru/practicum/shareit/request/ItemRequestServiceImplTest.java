@@ -107,6 +107,25 @@ public class ItemRequestServiceImplTest {
         }
     }
 
+    @Test
+    void findAllItemRequestSkipsOwnRequestsInQuery() {
+        UserDto userDto = userService.createUser(makeUserDto("user", "user@user.com"));
+        UserDto userDto2 = userService.createUser(makeUserDto("update", "update@user.com"));
+        for (int i = 0; i < 3; i++) {
+            em.persist(ItemRequestMapper.toItemRequest(makeItemRequestDto("Чужой запрос " + i), userDto.getId()));
+            em.persist(ItemRequestMapper.toItemRequest(makeItemRequestDto("Свой запрос " + i), userDto2.getId()));
+        }
+        em.flush();
+
+        List<ItemRequestDto> firstPage = itemRequestService.findAllItemRequest(userDto2.getId(), 0, 2);
+        List<ItemRequestDto> secondPage = itemRequestService.findAllItemRequest(userDto2.getId(), 2, 2);
+
+        assertThat(firstPage, hasSize(2));
+        assertThat(secondPage, hasSize(1));
+        assertThat(firstPage, everyItem(hasProperty("description", startsWith("Чужой"))));
+        assertThat(secondPage, everyItem(hasProperty("description", startsWith("Чужой"))));
+    }
+
     private UserDto makeUserDto(String name, String email) {
         UserDto userDto = new UserDto();
         userDto.setName(name);
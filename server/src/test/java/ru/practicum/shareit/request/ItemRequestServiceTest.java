@@ -7,10 +7,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -74,12 +75,32 @@ public class ItemRequestServiceTest {
         Assertions.assertEquals(List.of(itemRequestDto), itemRequestDto1);
     }
 
+    @Test
+    void testOkFindAllItemRequestByOwnerWithItems() {
+        ItemRequest itemRequest = new ItemRequest(1L, "Хотел бы воспользоваться щёткой для обуви",
+                1L, LocalDateTime.of(2024, 11, 12, 10, 25));
+        Item item = new Item(1L, "Щётка для обуви", "Стандартная щётка для обуви", true, 2L, 1L);
+        Mockito.when(mockItemRequestRepository
+                        .findAllByRequestorIdOrderByCreatedDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
+        Mockito.when(mockItemRepository.findAllByRequestIdIn(List.of(1L)))
+                .thenReturn(List.of(item));
+        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+        itemRequestDto.setItems(List.of(ItemMapper.toItemDto(item)));
+
+        List<ItemRequestDto> itemRequestDto1 = itemRequestService.findAllItemRequestByOwner(1L, 0, 10);
+
+        Assertions.assertEquals(List.of(itemRequestDto), itemRequestDto1);
+        Mockito.verify(mockItemRepository, Mockito.never()).findAll();
+    }
+
     @Test
     void testOkFindAllItemRequest() {
         ItemRequest itemRequest = new ItemRequest(1L, "Хотел бы воспользоваться щёткой для обуви",
                 2L, LocalDateTime.of(2024, 11, 12, 10, 25));
-        Mockito.when(mockItemRequestRepository.findAll(Mockito.any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
+        Mockito.when(mockItemRequestRepository
+                        .findAllByRequestorIdNotOrderByCreatedDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
         ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
         itemRequestDto.setItems(Collections.emptyList());
 
@@ -92,8 +113,9 @@ public class ItemRequestServiceTest {
     void testOkFindAllItemRequestWithPageable() {
         ItemRequest itemRequest = new ItemRequest(1L, "Хотел бы воспользоваться щёткой для обуви",
                 2L, LocalDateTime.of(2024, 11, 12, 10, 25));
-        Mockito.when(mockItemRequestRepository.findAll(Mockito.any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest)));
+        Mockito.when(mockItemRequestRepository
+                        .findAllByRequestorIdNotOrderByCreatedDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
         ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
         itemRequestDto.setItems(Collections.emptyList());
 
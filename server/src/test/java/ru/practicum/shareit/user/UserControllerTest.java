@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -112,4 +113,32 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].name", is(userDto.getName())))
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
     }
+
+    @Test
+    void findAllUserWithCursor() throws Exception {
+        List<UserDto> userDtoList = List.of(new UserDto(2L, "user", "user@user.com"),
+                new UserDto(3L, "update", "update@user.com"));
+        when(userService.findAllUserAfter(new Cursor(null, 1L), 2))
+                .thenReturn(userDtoList);
+
+        mvc.perform(get("/users")
+                        .param("size", "2")
+                        .param("cursor", new Cursor(null, 1L).encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, new Cursor(null, 3L).encode()))
+                .andExpect(jsonPath("$[0].id", is(2L), Long.class))
+                .andExpect(jsonPath("$[1].id", is(3L), Long.class));
+    }
+
+    @Test
+    void findAllUserWithInvalidCursor() throws Exception {
+        mvc.perform(get("/users")
+                        .param("size", "2")
+                        .param("cursor", "broken")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -4,11 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -20,6 +22,7 @@ import java.util.List;
 public class UserServiceImplTest {
     private final EntityManager em;
     private final UserService service;
+    private final JdbcTemplate jdbcTemplate;
 
     @Test
     void createUser() {
@@ -108,6 +111,41 @@ public class UserServiceImplTest {
         assertThat(userDto.getEmail(), equalTo(sourceUsers.get(1).getEmail()));
     }
 
+    @Test
+    void patchUserEvictsCachedUser() {
+        UserDto userDtoCreate = service.createUser(makeUserDto("user", "user@user.com"));
+        service.findUserById(userDtoCreate.getId());
+        service.patchUser(userDtoCreate.getId(), makeUserDto("update", null));
+
+        UserDto userDtoFromService = service.findUserById(userDtoCreate.getId());
+
+        assertThat(userDtoFromService.getName(), equalTo("update"));
+        assertThat(userDtoFromService.getEmail(), equalTo("user@user.com"));
+    }
+
+    @Test
+    void deleteUserEvictsCachedUser() {
+        UserDto userDtoCreate = service.createUser(makeUserDto("user", "user@user.com"));
+        service.findUserById(userDtoCreate.getId());
+        service.deleteUser(userDtoCreate.getId());
+
+        assertThrows(UserNotFoundException.class, () -> service.findUserById(userDtoCreate.getId()));
+    }
+
+    @Test
+    void createUserAfterPlainSqlInsert() {
+        UserDto first = service.createUser(makeUserDto("first", "first@user.com"));
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", "sql", "sql@user.com");
+        Long sqlId = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class,
+                "sql@user.com");
+        UserDto second = service.createUser(makeUserDto("second", "second@user.com"));
+        em.flush();
+
+        assertThat(sqlId, not(anyOf(equalTo(first.getId()), equalTo(second.getId()))));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where id in (?, ?, ?)", Long.class,
+                first.getId(), sqlId, second.getId()), equalTo(3L));
+    }
+
     private UserDto makeUserDto(String name, String email) {
         UserDto userDto = new UserDto();
         userDto.setName(name);
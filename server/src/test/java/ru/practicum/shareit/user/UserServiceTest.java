@@ -48,6 +48,18 @@ public class UserServiceTest {
         Assertions.assertEquals(new UserDto(1L, "update", "update@user.com"), userDto);
     }
 
+    @Test
+    void testOkFindAllUserByIds() {
+        Mockito.when(mockUserRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(List.of(new User(1L, "update", "update@user.com"),
+                        new User(2L, "user", "user@user.com")));
+
+        List<UserDto> userDtoList = userService.findAllUserByIds(List.of(1L, 2L));
+
+        Assertions.assertEquals(List.of(new UserDto(1L, "update", "update@user.com"),
+                new UserDto(2L, "user", "user@user.com")), userDtoList);
+    }
+
     @Test
     void testUserNotFound() {
         Mockito.when(mockUserRepository.findById(Mockito.anyLong()))